@@ -0,0 +1,40 @@
+package com.neostore.suppliers.benchmarks;
+
+import com.neostore.suppliers.util.CnpjValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de {@link CnpjValidator#isValid} em entradas válidas, inválidas e adversariais.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CnpjValidatorBenchmark {
+
+    @Param({"masked", "unmasked", "wrongCheckDigit", "invisibleUnicode", "longInput"})
+    public String input;
+
+    private String cnpj;
+
+    @Setup
+    public void setUp() {
+        cnpj = switch (input) {
+            case "masked" -> "12.345.678/0001-95";
+            case "unmasked" -> "12345678000195";
+            case "wrongCheckDigit" -> "12.345.678/0001-96";
+            case "invisibleUnicode" -> "12.345.678/0001\u200B-95";
+            case "longInput" -> "12.345.678/0001-95" + "0".repeat(1000);
+            default -> throw new IllegalArgumentException(input);
+        };
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        return CnpjValidator.isValid(cnpj);
+    }
+}
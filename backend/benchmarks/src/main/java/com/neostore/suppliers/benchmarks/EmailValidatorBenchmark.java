@@ -0,0 +1,40 @@
+package com.neostore.suppliers.benchmarks;
+
+import com.neostore.suppliers.util.EmailValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de {@link EmailValidator#isValid} em entradas válidas, inválidas e adversariais.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmailValidatorBenchmark {
+
+    @Param({"valid", "invalidLocal", "invalidTld", "adversarial"})
+    public String input;
+
+    private String email;
+
+    @Setup
+    public void setUp() {
+        email = switch (input) {
+            case "valid" -> "user.name+test@sub.domain.com";
+            case "invalidLocal" -> "user..name@domain.com";
+            case "invalidTld" -> "user@domain.c0m";
+            // Muitos labels perto do limite de 100 caracteres, falhando só no TLD
+            case "adversarial" -> "a@" + "a-a.".repeat(23) + "ab.c0m";
+            default -> throw new IllegalArgumentException(input);
+        };
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        return EmailValidator.isValid(email);
+    }
+}
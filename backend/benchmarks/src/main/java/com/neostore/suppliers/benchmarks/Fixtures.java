@@ -0,0 +1,27 @@
+package com.neostore.suppliers.benchmarks;
+
+import com.neostore.suppliers.dto.SupplierDTO;
+import com.neostore.suppliers.mapper.SupplierMapper;
+import com.neostore.suppliers.model.Supplier;
+
+/**
+ * Dados de exemplo com tamanhos próximos aos reais.
+ */
+final class Fixtures {
+
+    private Fixtures() {}
+
+    static SupplierDTO supplierDTO(int i) {
+        return new SupplierDTO(
+                (long) i,
+                "Fornecedor Exemplo " + i,
+                "contato" + i + "@fornecedor-exemplo.com.br",
+                "Fornecedor de móveis para escritório e brindes corporativos, unidade " + i,
+                "12.345.678/0001-95"
+        );
+    }
+
+    static Supplier supplier(int i) {
+        return SupplierMapper.toEntity(supplierDTO(i));
+    }
+}
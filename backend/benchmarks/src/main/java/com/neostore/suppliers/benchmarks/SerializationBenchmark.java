@@ -0,0 +1,59 @@
+package com.neostore.suppliers.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.neostore.suppliers.api.payload.PagedResponse;
+import com.neostore.suppliers.config.JacksonConfig;
+import com.neostore.suppliers.dto.SupplierDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização de uma página de fornecedores nos formatos negociados pela API.
+ * {@code json-reflection} é o mapper sem o Blackbird, como referência.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"5", "100"})
+    public int pageSize;
+
+    @Param({"json", "json-reflection", "smile", "cbor"})
+    public String format;
+
+    private ObjectWriter writer;
+    private PagedResponse<SupplierDTO> page;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper mapper = switch (format) {
+            case "json" -> new JacksonConfig().getContext(PagedResponse.class);
+            case "json-reflection" -> new ObjectMapper();
+            case "smile" -> JacksonConfig.configure(new SmileMapper());
+            case "cbor" -> JacksonConfig.configure(new CBORMapper());
+            default -> throw new IllegalArgumentException(format);
+        };
+        writer = mapper.writerFor(PagedResponse.class);
+        List<SupplierDTO> data = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            data.add(Fixtures.supplierDTO(i));
+        }
+        page = new PagedResponse<>(data, 10_000L);
+    }
+
+    @Benchmark
+    public byte[] pagedResponse() throws JsonProcessingException {
+        return writer.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,47 @@
+package com.neostore.suppliers.benchmarks;
+
+import com.neostore.suppliers.dto.SupplierDTO;
+import com.neostore.suppliers.mapper.SupplierMapper;
+import com.neostore.suppliers.model.Supplier;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo da conversão entidade → DTO, unitária e em lista do tamanho de uma página.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SupplierMapperBenchmark {
+
+    @Param({"5", "100"})
+    public int pageSize;
+
+    private Supplier supplier;
+    private List<Supplier> page;
+
+    @Setup
+    public void setUp() {
+        supplier = Fixtures.supplier(1);
+        page = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            page.add(Fixtures.supplier(i));
+        }
+    }
+
+    @Benchmark
+    public SupplierDTO toDTO() {
+        return SupplierMapper.toDTO(supplier);
+    }
+
+    @Benchmark
+    public List<SupplierDTO> toDTOList() {
+        return SupplierMapper.toDTOList(page);
+    }
+}
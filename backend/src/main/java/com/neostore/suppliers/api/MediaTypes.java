@@ -0,0 +1,44 @@
+package com.neostore.suppliers.api;
+
+import jakarta.ws.rs.core.MediaType;
+
+import java.util.List;
+
+/**
+ * Tipos de mídia usados pela API além dos definidos em {@link jakarta.ws.rs.core.MediaType}.
+ */
+public final class MediaTypes {
+
+    private MediaTypes() {}
+
+    /** JSON delimitado por nova linha: um valor JSON por linha. */
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    /** Valores separados por vírgula (RFC 4180). */
+    public static final String TEXT_CSV = "text/csv";
+
+    /** JSON binário do Jackson (Smile). */
+    public static final String APPLICATION_SMILE = "application/x-jackson-smile";
+
+    /** {@link #APPLICATION_SMILE} como {@link MediaType}. */
+    public static final MediaType APPLICATION_SMILE_TYPE = of(APPLICATION_SMILE);
+
+    /** Concise Binary Object Representation (RFC 8949). */
+    public static final String APPLICATION_CBOR = "application/cbor";
+
+    /** {@link #APPLICATION_CBOR} como {@link MediaType}. */
+    public static final MediaType APPLICATION_CBOR_TYPE = of(APPLICATION_CBOR);
+
+    /**
+     * Representações negociadas por {@code Accept}, na ordem de {@code @Produces} de
+     * {@link SupplierResource}: a primeira é a padrão.
+     */
+    public static final List<MediaType> NEGOTIATED =
+            List.of(MediaType.APPLICATION_JSON_TYPE, APPLICATION_SMILE_TYPE, APPLICATION_CBOR_TYPE);
+
+    /** Sem {@link MediaType#valueOf}, que exige a implementação JAX-RS carregada. */
+    private static MediaType of(String value) {
+        int slash = value.indexOf('/');
+        return new MediaType(value.substring(0, slash), value.substring(slash + 1));
+    }
+}
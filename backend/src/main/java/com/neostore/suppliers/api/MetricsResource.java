@@ -0,0 +1,42 @@
+package com.neostore.suppliers.api;
+
+import com.neostore.suppliers.metrics.DataSourcePoolMetrics;
+import com.neostore.suppliers.metrics.HibernateMetrics;
+import com.neostore.suppliers.metrics.MetricsRegistry;
+import com.neostore.suppliers.metrics.PrometheusText;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnit;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Response;
+import org.hibernate.SessionFactory;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Ponto de coleta do Prometheus: métricas da aplicação, estatísticas do Hibernate e do
+ * pool de conexões.
+ */
+@ApplicationScoped
+@Path("/api/v1/admin/metrics")
+public class MetricsResource {
+
+    @Inject
+    MetricsRegistry registry;
+
+    @PersistenceUnit
+    EntityManagerFactory emf;
+
+    @GET
+    @Produces(PrometheusText.CONTENT_TYPE)
+    public Response scrape() {
+        StringBuilder out = new StringBuilder(16 * 1024);
+        registry.writeTo(out);
+        HibernateMetrics.writeTo(out, emf.unwrap(SessionFactory.class).getStatistics());
+        DataSourcePoolMetrics.writeTo(out, ManagementFactory.getPlatformMBeanServer());
+        return Response.ok(out.toString()).build();
+    }
+}
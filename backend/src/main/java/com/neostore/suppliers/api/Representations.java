@@ -0,0 +1,55 @@
+package com.neostore.suppliers.api;
+
+import com.neostore.suppliers.config.GzipWriterInterceptor;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Variant;
+
+import java.util.List;
+
+/**
+ * ETags por representação. O mesmo registro sai em bytes diferentes conforme o tipo
+ * negociado em {@code Accept} (JSON, Smile ou CBOR) e a compressão aceita em
+ * {@code Accept-Encoding}, e uma ETag forte não pode ser compartilhada entre eles: o valor
+ * ganha um sufixo por tipo e outro por gzip. As respostas trazem {@link #VARY} para que
+ * caches guardem cada representação à parte.
+ */
+final class Representations {
+
+    /** Cabeçalhos que escolhem a representação. */
+    static final String VARY = HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING;
+
+    private static final List<Variant> VARIANTS = MediaTypes.NEGOTIATED.stream()
+            .map(type -> new Variant(type, (String) null, null))
+            .toList();
+
+    private Representations() {}
+
+    /**
+     * ETag da representação que a requisição vai receber.
+     */
+    static EntityTag tag(String value, Request request, HttpHeaders headers) {
+        boolean gzip = GzipWriterInterceptor.acceptsGzip(headers.getHeaderString(HttpHeaders.ACCEPT_ENCODING));
+        return new EntityTag(value + suffix(negotiate(request), gzip));
+    }
+
+    /**
+     * Tipo da resposta, escolhido pela implementação JAX-RS com as mesmas regras de
+     * {@code @Produces}; JSON se nenhum tipo produzido for aceito.
+     */
+    static MediaType negotiate(Request request) {
+        Variant selected = request.selectVariant(VARIANTS);
+        return selected != null ? selected.getMediaType() : MediaType.APPLICATION_JSON_TYPE;
+    }
+
+    /**
+     * Sufixo da ETag: nenhum para JSON sem compressão.
+     */
+    static String suffix(MediaType type, boolean gzip) {
+        String suffix = type.isCompatible(MediaTypes.APPLICATION_SMILE_TYPE) ? "-smile"
+                : type.isCompatible(MediaTypes.APPLICATION_CBOR_TYPE) ? "-cbor" : "";
+        return gzip ? suffix + "-gzip" : suffix;
+    }
+}
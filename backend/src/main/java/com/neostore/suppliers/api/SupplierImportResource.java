@@ -1,45 +1,162 @@
 package com.neostore.suppliers.api;
 
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import com.neostore.suppliers.dto.SupplierDTO;
-import com.neostore.suppliers.service.SupplierService;
+import com.neostore.suppliers.service.ImportListener;
+import com.neostore.suppliers.service.ImportSession;
+import com.neostore.suppliers.service.SupplierImportService;
+import com.neostore.suppliers.api.payload.ImportJobStatus;
+import com.neostore.suppliers.api.payload.ImportOutcome;
 import com.neostore.suppliers.api.payload.ImportResult;
-import com.neostore.suppliers.api.payload.ImportError;
-import com.neostore.suppliers.exception.ApiException;
+import com.neostore.suppliers.api.payload.ImportSummary;
+import com.neostore.suppliers.metrics.Metered;
 import jakarta.inject.Inject;
-import jakarta.validation.ConstraintViolationException;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import jakarta.ws.rs.core.UriInfo;
+import jakarta.ws.rs.ext.ContextResolver;
+import jakarta.ws.rs.ext.Providers;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Path("/api/v1/suppliers/import")
+@Metered
 @Consumes(MediaType.APPLICATION_JSON)
 @Produces(MediaType.APPLICATION_JSON)
 public class SupplierImportResource {
 
     @Inject
-    private SupplierService service;
+    private SupplierImportService importService;
 
+    @Context
+    private Providers providers;
+
+    @Context
+    private UriInfo uriInfo;
+
+    /**
+     * Importa a lista recebida. Com {@code async=true} responde 202 com o job criado,
+     * acompanhável em {@code GET /import/{jobId}}.
+     */
     @POST
-    public Response importSuppliers(List<SupplierDTO> suppliers) {
-        ImportResult result = new ImportResult();
-        for (int i = 0; i < suppliers.size(); i++) {
-            SupplierDTO dto = suppliers.get(i);
+    public Response importSuppliers(
+            List<SupplierDTO> suppliers,
+            @QueryParam("chunkSize") Integer chunkSize,
+            @QueryParam("async") @DefaultValue("false") boolean async
+    ) {
+        if (async) {
+            ImportJobStatus job = importService.submitJob(suppliers, chunkSize);
+            return Response.accepted(job)
+                    .location(uriInfo.getAbsolutePathBuilder().path(job.jobId()).build())
+                    .build();
+        }
+        ImportResult result = chunkSize == null
+                ? importService.importAll(suppliers)
+                : importService.importAll(suppliers, chunkSize);
+        return Response.status(Response.Status.CREATED).entity(result).build();
+    }
+
+    @GET
+    @Path("/{jobId}")
+    public Response getJob(@PathParam("jobId") String jobId) {
+        return Response.ok(importService.getJob(jobId)).build();
+    }
+
+    @DELETE
+    @Path("/{jobId}")
+    public Response cancelJob(@PathParam("jobId") String jobId) {
+        return Response.ok(importService.cancelJob(jobId)).build();
+    }
+
+    /**
+     * Importa um array JSON ou NDJSON lendo o corpo registro a registro.
+     * A resposta é NDJSON: uma linha {@link ImportOutcome} por registro, fora de ordem,
+     * seguida de uma linha {@link ImportSummary}.
+     */
+    @POST
+    @Path("/stream")
+    @Consumes({MediaType.APPLICATION_JSON, MediaTypes.APPLICATION_NDJSON})
+    @Produces(MediaTypes.APPLICATION_NDJSON)
+    public Response importStream(InputStream body, @QueryParam("chunkSize") Integer chunkSize) {
+        ObjectMapper mapper = objectMapper();
+        StreamingOutput stream = out -> {
+            try (SequenceWriter results = mapper.writer().withRootValueSeparator("\n").writeValues(out)) {
+                OutcomeWriter listener = new OutcomeWriter(results);
+                try (MappingIterator<SupplierDTO> rows = mapper.readerFor(SupplierDTO.class).readValues(body);
+                     ImportSession session = importService.openSession(chunkSize, listener)) {
+                    readRows(rows, session);
+                } catch (UncheckedIOException ex) {
+                    throw ex.getCause();
+                }
+                results.write(new ImportSummary(listener.imported, listener.failed));
+            }
+        };
+        return Response.ok(stream).build();
+    }
+
+    private void readRows(MappingIterator<SupplierDTO> rows, ImportSession session) throws IOException {
+        while (true) {
             try {
-                service.create(dto);
-                result.imported++;
-            } catch (ApiException ex) {
-                result.errors.add(new ImportError(i, dto, ex.getMessage()));
-            } catch (ConstraintViolationException ex) {
-                String msg = ex.getConstraintViolations().stream()
-                        .map(v -> v.getMessage())
-                        .collect(Collectors.joining("; "));
-                result.errors.add(new ImportError(i, dto, msg));
-            } catch (Exception ex) {
-                result.errors.add(new ImportError(i, dto, "Unexpected error: " + ex.getMessage()));
+                if (!rows.hasNextValue()) {
+                    return;
+                }
+                session.add(rows.nextValue());
+            } catch (JsonParseException ex) {
+                // JSON malformado: não há como ressincronizar com o próximo registro
+                session.reject("JSON inválido: " + ex.getOriginalMessage());
+                return;
+            } catch (JsonMappingException ex) {
+                session.reject("Registro inválido: " + ex.getOriginalMessage());
+            }
+        }
+    }
+
+    private ObjectMapper objectMapper() {
+        ContextResolver<ObjectMapper> resolver =
+                providers.getContextResolver(ObjectMapper.class, MediaType.APPLICATION_JSON_TYPE);
+        return resolver != null ? resolver.getContext(ObjectMapper.class) : new ObjectMapper();
+    }
+
+    /**
+     * Escreve cada resultado assim que o lote correspondente é gravado.
+     */
+    private static final class OutcomeWriter implements ImportListener {
+
+        private final SequenceWriter results;
+        private long imported;
+        private long failed;
+
+        OutcomeWriter(SequenceWriter results) {
+            this.results = results;
+        }
+
+        @Override
+        public void imported(int index) {
+            imported++;
+            write(ImportOutcome.imported(index));
+        }
+
+        @Override
+        public void failed(int index, SupplierDTO supplier, String error) {
+            failed++;
+            write(ImportOutcome.failed(index, error));
+        }
+
+        private void write(ImportOutcome outcome) {
+            try {
+                results.write(outcome);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
             }
         }
-        return Response.status(Response.Status.CREATED).entity(result).build();
     }
-}
\ No newline at end of file
+}
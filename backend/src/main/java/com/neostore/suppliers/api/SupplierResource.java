@@ -1,57 +1,341 @@
 package com.neostore.suppliers.api;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.neostore.suppliers.api.payload.BulkResult;
+import com.neostore.suppliers.api.payload.BulkUpdateRequest;
+import com.neostore.suppliers.api.payload.LookupRequest;
 import com.neostore.suppliers.dto.SupplierDTO;
+import com.neostore.suppliers.dto.Versioned;
+import com.neostore.suppliers.exception.InvalidRequestException;
+import com.neostore.suppliers.exception.PreconditionFailedException;
+import com.neostore.suppliers.metrics.Metered;
+import com.neostore.suppliers.repository.SupplierFilter;
+import com.neostore.suppliers.repository.SupplierSort;
 import com.neostore.suppliers.service.SupplierService;
-import com.neostore.suppliers.api.payload.PagedResponse;
+import com.neostore.suppliers.service.TableVersion;
+import com.neostore.suppliers.util.Csv;
+import com.neostore.suppliers.util.ETags;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import jakarta.ws.rs.ext.ContextResolver;
+import jakarta.ws.rs.ext.Providers;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 
 @ApplicationScoped
 @Path("/api/v1/suppliers")
-@Produces(MediaType.APPLICATION_JSON)
+@Metered
+@Produces({MediaType.APPLICATION_JSON, MediaTypes.APPLICATION_SMILE, MediaTypes.APPLICATION_CBOR})
 @Consumes(MediaType.APPLICATION_JSON)
 public class SupplierResource {
 
     @Inject
     SupplierService service;
 
+    @Context
+    Providers providers;
+
+    @Context
+    HttpHeaders headers;
+
     @POST
     public Response create(@Valid SupplierDTO dto) {
         SupplierDTO created = service.create(dto);
         return Response.status(Response.Status.CREATED).entity(created).build();
     }
 
+    /**
+     * Responde 304 sem corpo quando {@code If-None-Match} traz a versão atual na mesma
+     * representação (ver {@link Representations}).
+     */
     @GET
     @Path("/{id}")
-    public Response getById(@PathParam("id") Long id) {
-        return Response.ok(service.findById(id)).build();
+    public Response getById(@PathParam("id") Long id, @Context Request request) {
+        Versioned<SupplierDTO> found = service.findById(id);
+        EntityTag tag = Representations.tag(ETags.of(found.version()), request, headers);
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(tag);
+        if (notModified != null) {
+            return notModified.header(HttpHeaders.VARY, Representations.VARY).build();
+        }
+        return Response.ok(found.value()).tag(tag).header(HttpHeaders.VARY, Representations.VARY).build();
+    }
+
+    /**
+     * Resolve em uma requisição um lote de IDs, CNPJs e/ou e-mails, com um resultado
+     * por chave na ordem do pedido.
+     */
+    @POST
+    @Path("/lookup")
+    public Response lookup(LookupRequest request) {
+        if (request == null) {
+            throw new InvalidRequestException("ids", "Informe ao menos um id, CNPJ ou e-mail");
+        }
+        return Response.ok(service.lookup(request)).build();
     }
 
+    /**
+     * Com {@code If-Match}, só grava se a versão informada ainda for a atual (senão 412).
+     */
     @PUT
     @Path("/{id}")
-    public Response update(@PathParam("id") Long id, @Valid SupplierDTO dto) {
-        return Response.ok(service.update(id, dto)).build();
+    public Response update(
+            @PathParam("id") Long id,
+            @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch,
+            @Valid SupplierDTO dto,
+            @Context Request request
+    ) {
+        Versioned<SupplierDTO> updated = service.update(id, dto, expectedVersion(ifMatch));
+        return Response.ok(updated.value())
+                .tag(Representations.tag(ETags.of(updated.version()), request, headers))
+                .header(HttpHeaders.VARY, Representations.VARY)
+                .build();
     }
 
+    /**
+     * Com {@code If-Match}, só remove se a versão informada ainda for a atual (senão 412).
+     */
     @DELETE
     @Path("/{id}")
-    public Response delete(@PathParam("id") Long id) {
-        service.delete(id);
+    public Response delete(@PathParam("id") Long id, @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch) {
+        service.delete(id, expectedVersion(ifMatch));
         return Response.noContent().build();
     }
 
+    /**
+     * Remove vários fornecedores em uma operação: {@code ?ids=1,2,3} ou {@code ?ids=1&ids=2}.
+     * IDs inexistentes voltam em {@code missing}.
+     */
+    @DELETE
+    public Response deleteAll(@QueryParam("ids") List<String> ids) {
+        BulkResult result = service.deleteAll(parseIds(ids));
+        return Response.ok(result).build();
+    }
+
+    /**
+     * Aplica o mesmo nome e/ou descrição a vários fornecedores em uma operação.
+     * IDs inexistentes voltam em {@code missing}.
+     */
+    @PATCH
+    public Response updateAll(@Valid BulkUpdateRequest request) {
+        BulkResult result = service.updateAll(request);
+        return Response.ok(result).build();
+    }
+
+    /**
+     * Lista paginada por número de página ({@code page}/{@code pageSize}) ou,
+     * quando {@code after} ou {@code limit} é informado, por cursor.
+     * Com {@code includeTotal=false} a contagem de registros é omitida.
+     * Filtros: {@code name} (início do nome, sem diferenciar acentos e caixa),
+     * {@code emailDomain}, {@code cnpj} (primeiros dígitos) e {@code description} (trecho);
+     * {@code sort} é {@code id}, {@code name}, {@code email} ou {@code cnpj}, e sem ele a
+     * listagem segue o filtro de nome ou CNPJ (ver {@link SupplierFilter#defaultSort}).
+     * Combinações que nenhum índice atende, como só a descrição, respondem 400.
+     * A ETag muda a cada gravação confirmada (ver {@link TableVersion}), sem consultar o
+     * banco; com {@code If-None-Match} igual, responde 304 sem executar a listagem, depois
+     * de validar filtros, ordenação e cursor.
+     */
     @GET
     public Response list(
             @QueryParam("page") @DefaultValue("1") int page,
-            @QueryParam("pageSize") @DefaultValue("5") int pageSize
+            @QueryParam("pageSize") @DefaultValue("5") int pageSize,
+            @QueryParam("after") String after,
+            @QueryParam("limit") Integer limit,
+            @QueryParam("includeTotal") @DefaultValue("true") boolean includeTotal,
+            @QueryParam("name") String name,
+            @QueryParam("emailDomain") String emailDomain,
+            @QueryParam("cnpj") String cnpj,
+            @QueryParam("description") String description,
+            @QueryParam("sort") String sort,
+            @Context Request request
+    ) {
+        SupplierFilter filter = filter(name, emailDomain, cnpj, description);
+        SupplierSort order = sort == null || sort.isBlank() ? filter.defaultSort() : sort(sort);
+        // Parâmetros inválidos respondem 400 mesmo com If-None-Match igual à ETag
+        service.validateListing(filter, order, after);
+        TableVersion version = service.tableVersion();
+        EntityTag tag = Representations.tag(ETags.of(version.epoch(), version.generation()), request, headers);
+        Response.ResponseBuilder notModified = request.evaluatePreconditions(tag);
+        if (notModified != null) {
+            return notModified.header(HttpHeaders.VARY, Representations.VARY).build();
+        }
+        Object body = after != null || limit != null
+                ? service.findAfter(filter, order, after, limit != null ? limit : pageSize)
+                : service.findPage(filter, order, page, pageSize, includeTotal);
+        return Response.ok(body).tag(tag).header(HttpHeaders.VARY, Representations.VARY).build();
+    }
+
+    /**
+     * Busca textual em nome e descrição, ignorando acentos, caixa e plural;
+     * resultados do mais ao menos relevante. Responde 503 enquanto os índices em memória
+     * são montados, logo após a inicialização.
+     */
+    @GET
+    @Path("/search")
+    public Response search(
+            @QueryParam("q") String q,
+            @QueryParam("page") @DefaultValue("1") int page,
+            @QueryParam("pageSize") @DefaultValue("10") int pageSize
+    ) {
+        return Response.ok(service.search(q, page, pageSize)).build();
+    }
+
+    /**
+     * Autocompletar: fornecedores cujo nome começa com {@code prefix}, ignorando acentos
+     * e caixa, em ordem alfabética. Não acessa o banco; 503 enquanto os índices são montados.
+     */
+    @GET
+    @Path("/suggest")
+    public Response suggest(
+            @QueryParam("prefix") String prefix,
+            @QueryParam("limit") @DefaultValue("10") int limit
+    ) {
+        return Response.ok(service.suggest(prefix, limit)).build();
+    }
+
+    /**
+     * Possíveis duplicatas: fornecedores com nome parecido (trigramas), do mais ao menos
+     * parecido. Vale tanto para cadastros avulsos quanto importados; 503 enquanto os
+     * índices são montados.
+     */
+    @GET
+    @Path("/{id}/similar")
+    public Response similar(
+            @PathParam("id") Long id,
+            @QueryParam("limit") @DefaultValue("5") int limit
     ) {
-        List<SupplierDTO> suppliers = service.findAll(page, pageSize);
-        long total = service.count();
-        return Response.ok(new PagedResponse<>(suppliers, total)).build();
+        return Response.ok(service.similar(id, limit)).build();
+    }
+
+    /**
+     * Exporta todos os fornecedores em NDJSON, um por linha, lidos em páginas por chave.
+     */
+    @GET
+    @Path("/export")
+    @Produces(MediaTypes.APPLICATION_NDJSON)
+    public Response exportNdjson() {
+        ObjectMapper mapper = objectMapper();
+        StreamingOutput stream = out -> {
+            // Sem flush por linha: o contêiner envia conforme o buffer enche
+            try (SequenceWriter rows = mapper.writerFor(SupplierDTO.class)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                    .withRootValueSeparator("\n")
+                    .writeValues(out)) {
+                service.exportAll(dto -> {
+                    try {
+                        rows.write(dto);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+        };
+        return attachment(stream, "suppliers.ndjson");
+    }
+
+    /**
+     * Exporta todos os fornecedores em CSV com cabeçalho, lidos em páginas por chave.
+     */
+    @GET
+    @Path("/export")
+    @Produces(MediaTypes.TEXT_CSV)
+    public Response exportCsv() {
+        StreamingOutput stream = out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            Csv.writeRow(writer, "id", "name", "email", "description", "cnpj");
+            try {
+                service.exportAll(dto -> {
+                    try {
+                        Csv.writeRow(writer, String.valueOf(dto.id()), dto.name(), dto.email(), dto.description(), dto.cnpj());
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+            writer.flush();
+        };
+        return attachment(stream, "suppliers.csv");
+    }
+
+    /**
+     * Versão esperada em {@code If-Match}; null se ausente ou {@code *}.
+     */
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        try {
+            return ETags.parseVersion(ifMatch);
+        } catch (IllegalArgumentException ex) {
+            throw new PreconditionFailedException("If-Match não corresponde à versão atual: " + ifMatch);
+        }
+    }
+
+    private static SupplierFilter filter(String name, String emailDomain, String cnpj, String description) {
+        try {
+            return new SupplierFilter(name, emailDomain, cnpj, description);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidRequestException("cnpj", ex.getMessage());
+        }
+    }
+
+    private static SupplierSort sort(String sort) {
+        try {
+            return SupplierSort.fromKey(sort);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidRequestException("sort", ex.getMessage());
+        }
+    }
+
+    /**
+     * IDs de {@code ?ids=}, aceitando valores repetidos e separados por vírgula.
+     */
+    private static List<Long> parseIds(List<String> values) {
+        List<Long> ids = new ArrayList<>();
+        for (String value : values) {
+            for (String part : value.split(",")) {
+                if (part.isBlank()) {
+                    continue;
+                }
+                try {
+                    ids.add(Long.valueOf(part.trim()));
+                } catch (NumberFormatException ex) {
+                    throw new InvalidRequestException("ids", "Id inválido: " + part.trim());
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static Response attachment(StreamingOutput stream, String fileName) {
+        return Response.ok(stream)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .build();
+    }
+
+    private ObjectMapper objectMapper() {
+        ContextResolver<ObjectMapper> resolver =
+                providers.getContextResolver(ObjectMapper.class, MediaType.APPLICATION_JSON_TYPE);
+        return resolver != null ? resolver.getContext(ObjectMapper.class) : new ObjectMapper();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,9 @@
+package com.neostore.suppliers.api.payload;
+
+import java.util.List;
+
+/**
+ * Resultado de uma operação em lote: registros afetados e IDs não encontrados,
+ * na ordem em que foram enviados.
+ */
+public record BulkResult(int affected, List<Long> missing) {}
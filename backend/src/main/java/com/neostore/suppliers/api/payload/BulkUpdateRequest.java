@@ -0,0 +1,23 @@
+package com.neostore.suppliers.api.payload;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Alteração aplicada igualmente a vários fornecedores. Campos null não são alterados;
+ * informados, não podem ficar em branco, como em {@link com.neostore.suppliers.dto.SupplierDTO}.
+ * CNPJ e e-mail ficam de fora por serem únicos.
+ */
+public record BulkUpdateRequest(
+
+        @NotEmpty(message = "Informe ao menos um id")
+        List<Long> ids,
+
+        @Size(max = 100, message = "O nome deve ter no máximo 100 caracteres")
+        String name,
+
+        @Size(max = 255, message = "A descrição deve ter no máximo 255 caracteres")
+        String description
+) {}
@@ -0,0 +1,9 @@
+package com.neostore.suppliers.api.payload;
+
+import java.util.List;
+
+/**
+ * Represents a keyset-paginated API response.
+ * {@code nextCursor} is null on the last page.
+ */
+public record CursorPage<T>(List<T> data, String nextCursor) {}
@@ -0,0 +1,36 @@
+package com.neostore.suppliers.api.payload;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Situação de uma importação assíncrona.
+ *
+ * @param jobId         Identificador do job
+ * @param state         QUEUED, RUNNING, COMPLETED, CANCELLED ou FAILED
+ * @param total         Quantidade de registros recebidos
+ * @param processed     Registros já processados (importados + rejeitados)
+ * @param imported      Registros importados
+ * @param failed        Registros rejeitados
+ * @param rowsPerSecond Vazão média desde o início da execução
+ * @param startedAt     Início da execução
+ * @param finishedAt    Fim da execução
+ * @param message       Causa da falha do job, quando houver
+ * @param errors        Erros por índice, presentes apenas após o término
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ImportJobStatus(
+        String jobId,
+        String state,
+        int total,
+        int processed,
+        int imported,
+        int failed,
+        double rowsPerSecond,
+        Instant startedAt,
+        Instant finishedAt,
+        String message,
+        List<ImportError> errors
+) {}
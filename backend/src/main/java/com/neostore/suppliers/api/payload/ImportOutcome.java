@@ -0,0 +1,22 @@
+package com.neostore.suppliers.api.payload;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Resultado de um registro na importação em streaming.
+ *
+ * @param index  Posição do registro na origem
+ * @param status IMPORTED ou FAILED
+ * @param error  Motivo da rejeição, ausente quando importado
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ImportOutcome(int index, String status, String error) {
+
+    public static ImportOutcome imported(int index) {
+        return new ImportOutcome(index, "IMPORTED", null);
+    }
+
+    public static ImportOutcome failed(int index, String error) {
+        return new ImportOutcome(index, "FAILED", error);
+    }
+}
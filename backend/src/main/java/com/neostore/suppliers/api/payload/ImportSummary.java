@@ -0,0 +1,6 @@
+package com.neostore.suppliers.api.payload;
+
+/**
+ * Totais enviados na última linha da importação em streaming.
+ */
+public record ImportSummary(long imported, long failed) {}
@@ -0,0 +1,12 @@
+package com.neostore.suppliers.api.payload;
+
+import java.util.List;
+
+/**
+ * Chaves a resolver em lote; qualquer combinação das listas pode ser enviada.
+ *
+ * @param ids    IDs de fornecedor
+ * @param cnpjs  CNPJs, com ou sem máscara
+ * @param emails e-mails, comparados na forma normalizada
+ */
+public record LookupRequest(List<Long> ids, List<String> cnpjs, List<String> emails) {}
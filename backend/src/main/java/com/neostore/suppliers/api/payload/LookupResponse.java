@@ -0,0 +1,9 @@
+package com.neostore.suppliers.api.payload;
+
+import java.util.List;
+
+/**
+ * Resposta da busca em lote: um resultado por chave, na ordem do pedido
+ * (IDs, depois CNPJs, depois e-mails).
+ */
+public record LookupResponse(List<LookupResult> results, int found, int missing) {}
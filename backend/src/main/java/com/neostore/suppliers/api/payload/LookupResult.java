@@ -0,0 +1,20 @@
+package com.neostore.suppliers.api.payload;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.neostore.suppliers.dto.SupplierDTO;
+
+/**
+ * Resultado de uma chave da busca em lote.
+ *
+ * @param by       tipo da chave: id, cnpj ou email
+ * @param key      chave como enviada
+ * @param found    se algum fornecedor corresponde à chave
+ * @param supplier fornecedor encontrado, ausente quando não encontrado
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record LookupResult(String by, String key, boolean found, SupplierDTO supplier) {
+
+    public static LookupResult of(String by, Object key, SupplierDTO supplier) {
+        return new LookupResult(by, String.valueOf(key), supplier != null, supplier);
+    }
+}
@@ -0,0 +1,6 @@
+package com.neostore.suppliers.api.payload;
+
+/**
+ * Sugestão do autocompletar de nomes.
+ */
+public record NameSuggestion(long id, String name) {}
@@ -1,8 +1,12 @@
 package com.neostore.suppliers.api.payload;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.List;
 
 /**
  * Represents a paginated API response.
+ * {@code total} is omitted when the caller opted out of counting.
  */
-public record PagedResponse<T>(List<T> data, long total) {}
\ No newline at end of file
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PagedResponse<T>(List<T> data, Long total) {}
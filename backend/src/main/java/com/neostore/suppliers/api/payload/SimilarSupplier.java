@@ -0,0 +1,8 @@
+package com.neostore.suppliers.api.payload;
+
+import com.neostore.suppliers.dto.SupplierDTO;
+
+/**
+ * Fornecedor com nome parecido e a semelhança entre os nomes, de 0 a 1.
+ */
+public record SimilarSupplier(double similarity, SupplierDTO supplier) {}
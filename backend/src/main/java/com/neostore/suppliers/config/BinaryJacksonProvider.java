@@ -0,0 +1,68 @@
+package com.neostore.suppliers.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.neostore.suppliers.api.MediaTypes;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.StreamingOutput;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Provider;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+/**
+ * Serializa respostas em Smile ou CBOR quando o cliente as pede em {@code Accept}.
+ * Os mappers têm a mesma configuração do JSON (ver {@link JacksonConfig#configure}).
+ */
+@Provider
+@Produces({MediaTypes.APPLICATION_SMILE, MediaTypes.APPLICATION_CBOR})
+public class BinaryJacksonProvider implements MessageBodyWriter<Object> {
+
+    private static final ObjectMapper SMILE = binary(new SmileMapper());
+    private static final ObjectMapper CBOR = binary(new CBORMapper());
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return mapperFor(mediaType) != null
+                && !StreamingOutput.class.isAssignableFrom(type)
+                && !InputStream.class.isAssignableFrom(type)
+                && type != byte[].class
+                && type != String.class;
+    }
+
+    @Override
+    public void writeTo(Object value, Class<?> type, Type genericType, Annotation[] annotations,
+                        MediaType mediaType, MultivaluedMap<String, Object> httpHeaders,
+                        OutputStream entityStream) throws IOException {
+        ObjectMapper mapper = mapperFor(mediaType);
+        mapper.writerFor(mapper.getTypeFactory().constructType(genericType)).writeValue(entityStream, value);
+    }
+
+    private static ObjectMapper mapperFor(MediaType mediaType) {
+        if (mediaType == null) {
+            return null;
+        }
+        String subtype = mediaType.getType() + "/" + mediaType.getSubtype();
+        if (MediaTypes.APPLICATION_SMILE.equalsIgnoreCase(subtype)) {
+            return SMILE;
+        }
+        if (MediaTypes.APPLICATION_CBOR.equalsIgnoreCase(subtype)) {
+            return CBOR;
+        }
+        return null;
+    }
+
+    private static ObjectMapper binary(ObjectMapper mapper) {
+        // O contêiner fecha o stream da resposta
+        mapper.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        return JacksonConfig.configure(mapper);
+    }
+}
@@ -24,10 +24,12 @@ public class CorsFilter implements ContainerResponseFilter {
         }
 
         responseContext.getHeaders().putSingle("Access-Control-Allow-Methods",
-                "GET, POST, PUT, DELETE, OPTIONS, HEAD");
+                "GET, POST, PUT, PATCH, DELETE, OPTIONS, HEAD");
 
         responseContext.getHeaders().putSingle("Access-Control-Allow-Headers",
-                "Origin, Content-Type, Accept, Authorization");
+                "Origin, Content-Type, Accept, Authorization, If-Match, If-None-Match");
+
+        responseContext.getHeaders().putSingle("Access-Control-Expose-Headers", "ETag, Location, Server-Timing");
 
         responseContext.getHeaders().putSingle("Access-Control-Allow-Credentials", "true");
         responseContext.getHeaders().putSingle("Access-Control-Max-Age", "3600");
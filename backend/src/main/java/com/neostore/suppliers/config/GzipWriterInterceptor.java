@@ -0,0 +1,176 @@
+package com.neostore.suppliers.config;
+
+import com.neostore.suppliers.api.MediaTypes;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.Provider;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Comprime com gzip as respostas que o cliente aceita comprimidas e que passam de
+ * {@code neostore.gzip.min-size} bytes (padrão 1024). Até esse limite o corpo fica em
+ * memória; respostas menores saem sem compressão, onde o gzip só acrescentaria custo.
+ * Respostas em JSON, Smile ou CBOR, negociados por {@code Accept}, trazem também
+ * {@code Vary: Accept}.
+ */
+@Provider
+public class GzipWriterInterceptor implements WriterInterceptor {
+
+    static final int MIN_SIZE = Integer.getInteger("neostore.gzip.min-size", 1024);
+
+    @Context
+    private HttpHeaders requestHeaders;
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+        MultivaluedMap<String, Object> headers = context.getHeaders();
+        if (headers.containsKey(HttpHeaders.CONTENT_ENCODING)) {
+            context.proceed();
+            return;
+        }
+        if (context.getMediaType() != null && MediaTypes.NEGOTIATED.stream().anyMatch(context.getMediaType()::isCompatible)) {
+            vary(headers, HttpHeaders.ACCEPT);
+        }
+        vary(headers, HttpHeaders.ACCEPT_ENCODING);
+        if (!acceptsGzip(requestHeaders.getHeaderString(HttpHeaders.ACCEPT_ENCODING))) {
+            context.proceed();
+            return;
+        }
+        ThresholdGzipStream out = new ThresholdGzipStream(context.getOutputStream(), headers, MIN_SIZE);
+        context.setOutputStream(out);
+        context.proceed();
+        out.finish();
+    }
+
+    /**
+     * Acrescenta o cabeçalho a {@code Vary}, se ainda não estiver lá.
+     */
+    static void vary(MultivaluedMap<String, Object> headers, String header) {
+        List<Object> values = headers.get(HttpHeaders.VARY);
+        if (values != null) {
+            for (Object value : values) {
+                for (String listed : value.toString().split(",")) {
+                    if (listed.trim().equalsIgnoreCase(header)) {
+                        return;
+                    }
+                }
+            }
+        }
+        headers.add(HttpHeaders.VARY, header);
+    }
+
+    /**
+     * Se {@code Accept-Encoding} aceita gzip (diretamente ou por {@code *}) com qualidade
+     * maior que zero.
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            int params = coding.indexOf(';');
+            String name = (params == -1 ? coding : coding.substring(0, params)).trim();
+            if (name.equalsIgnoreCase("gzip") || name.equals("*")) {
+                return params == -1 || quality(coding.substring(params + 1)) > 0;
+            }
+        }
+        return false;
+    }
+
+    private static double quality(String params) {
+        for (String param : params.split(";")) {
+            String p = param.trim();
+            if (p.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(p.substring(2));
+                } catch (NumberFormatException ex) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * Guarda os primeiros bytes; ao passar do limite define {@code Content-Encoding}
+     * (os cabeçalhos ainda não foram enviados) e segue comprimindo. {@code flush()}
+     * antes do limite é adiado, para não forçar o envio sem compressão.
+     */
+    static final class ThresholdGzipStream extends OutputStream {
+
+        private final OutputStream target;
+        private final MultivaluedMap<String, Object> headers;
+        private final byte[] buffer;
+        private int count;
+        private GZIPOutputStream gzip;
+        private boolean finished;
+
+        ThresholdGzipStream(OutputStream target, MultivaluedMap<String, Object> headers, int threshold) {
+            this.target = target;
+            this.headers = headers;
+            this.buffer = new byte[Math.max(0, threshold)];
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (gzip == null && count < buffer.length) {
+                buffer[count++] = (byte) b;
+                return;
+            }
+            startGzip().write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (gzip == null && count + len <= buffer.length) {
+                System.arraycopy(b, off, buffer, count, len);
+                count += len;
+                return;
+            }
+            startGzip().write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (gzip != null) {
+                gzip.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            finish();
+        }
+
+        void finish() throws IOException {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            if (gzip != null) {
+                gzip.finish();
+            } else {
+                target.write(buffer, 0, count);
+            }
+            target.flush();
+        }
+
+        private GZIPOutputStream startGzip() throws IOException {
+            if (gzip == null) {
+                headers.putSingle(HttpHeaders.CONTENT_ENCODING, "gzip");
+                headers.remove(HttpHeaders.CONTENT_LENGTH);
+                // syncFlush: respostas em streaming continuam chegando aos poucos
+                gzip = new GZIPOutputStream(target, 8192, true);
+                gzip.write(buffer, 0, count);
+            }
+            return gzip;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.neostore.suppliers.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
 import jakarta.ws.rs.ext.ContextResolver;
 import jakarta.ws.rs.ext.Provider;
 
@@ -12,9 +13,18 @@ public class JacksonConfig implements ContextResolver<ObjectMapper> {
     private final ObjectMapper mapper;
 
     public JacksonConfig() {
-        mapper = new ObjectMapper();
+        mapper = configure(new ObjectMapper());
+    }
+
+    /**
+     * Configuração comum aos mappers de JSON, Smile e CBOR. O Blackbird troca a
+     * reflexão por acessores gerados via {@code LambdaMetafactory}.
+     */
+    public static <M extends ObjectMapper> M configure(M mapper) {
         mapper.registerModule(new JavaTimeModule());
+        mapper.registerModule(new BlackbirdModule());
         mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return mapper;
     }
 
     @Override
@@ -0,0 +1,16 @@
+package com.neostore.suppliers.dto;
+
+/**
+ * Valor acompanhado da versão do registro de origem, usada nas ETags.
+ */
+public record Versioned<T>(T value, long version) {
+
+    /**
+     * Registros gravados antes da coluna de versão ainda podem estar sem ela (ver
+     * {@link com.neostore.suppliers.repository.SupplierRepository#initializeVersions}); valem
+     * como a versão inicial, 0.
+     */
+    public static <T> Versioned<T> of(T value, Long version) {
+        return new Versioned<>(value, version != null ? version : 0);
+    }
+}
@@ -0,0 +1,20 @@
+package com.neostore.suppliers.exception;
+
+import com.neostore.suppliers.api.payload.FieldError;
+import jakarta.ws.rs.core.Response;
+
+import java.util.List;
+
+/**
+ * Exceção lançada quando um parâmetro da requisição é inválido.
+ */
+public class InvalidRequestException extends ApiException {
+
+    /**
+     * @param field   Nome do parâmetro inválido
+     * @param message Descrição do problema
+     */
+    public InvalidRequestException(String field, String message) {
+        super(Response.Status.BAD_REQUEST, message, List.of(new FieldError(field, message)));
+    }
+}
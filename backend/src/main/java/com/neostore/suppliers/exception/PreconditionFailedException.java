@@ -0,0 +1,12 @@
+package com.neostore.suppliers.exception;
+
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Exceção lançada quando a versão informada em {@code If-Match} não é a versão atual do recurso.
+ */
+public class PreconditionFailedException extends ApiException {
+    public PreconditionFailedException(String message) {
+        super(Response.Status.PRECONDITION_FAILED, message);
+    }
+}
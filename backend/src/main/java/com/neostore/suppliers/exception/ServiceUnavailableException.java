@@ -0,0 +1,12 @@
+package com.neostore.suppliers.exception;
+
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Exceção lançada quando um recurso da aplicação ainda não está pronto para atender.
+ */
+public class ServiceUnavailableException extends ApiException {
+    public ServiceUnavailableException(String message) {
+        super(Response.Status.SERVICE_UNAVAILABLE, message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.neostore.suppliers.exception;
+
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Exceção lançada quando um recurso limitado da aplicação está esgotado.
+ */
+public class TooManyRequestsException extends ApiException {
+    public TooManyRequestsException(String message) {
+        super(Response.Status.TOO_MANY_REQUESTS, message);
+    }
+}
@@ -0,0 +1,75 @@
+package com.neostore.suppliers.exception;
+
+import com.neostore.suppliers.api.payload.FieldError;
+import com.neostore.suppliers.model.Supplier;
+import org.hibernate.exception.ConstraintViolationException;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Traduz violações das restrições únicas de {@code suppliers} na mesma
+ * {@link BusinessRuleException} que as verificações prévias produziam.
+ * O campo é identificado pelo nome da restrição informado pelo Hibernate ou,
+ * se ele não estiver disponível, pela mensagem do driver JDBC.
+ */
+public final class UniqueConstraintTranslator {
+
+    /** Classe SQLSTATE de violação de integridade. */
+    private static final String INTEGRITY_VIOLATION_CLASS = "23";
+
+    private UniqueConstraintTranslator() {}
+
+    /**
+     * @param ex    exceção lançada pela escrita
+     * @param cnpj  CNPJ enviado, incluído na mensagem do campo (pode ser null)
+     * @param email e-mail enviado, incluído na mensagem do campo (pode ser null)
+     * @return a exceção de regra de negócio, ou vazio se a causa não for violação de integridade
+     */
+    public static Optional<BusinessRuleException> translate(Throwable ex, String cnpj, String email) {
+        boolean integrityViolation = false;
+        for (Throwable t = ex; t != null; t = t.getCause()) {
+            String hint = null;
+            if (t instanceof ConstraintViolationException cve) {
+                integrityViolation = true;
+                hint = cve.getConstraintName() != null ? cve.getConstraintName() : cve.getSQLException().getMessage();
+            } else if (t instanceof SQLException sql && sql.getSQLState() != null
+                    && sql.getSQLState().startsWith(INTEGRITY_VIOLATION_CLASS)) {
+                integrityViolation = true;
+                hint = sql.getMessage();
+            }
+            Optional<BusinessRuleException> translated = forHint(hint, cnpj, email);
+            if (translated.isPresent()) {
+                return translated;
+            }
+            if (t.getCause() == t) {
+                break;
+            }
+        }
+        return integrityViolation
+                ? Optional.of(new BusinessRuleException("Violação de restrição única no banco de dados"))
+                : Optional.empty();
+    }
+
+    private static Optional<BusinessRuleException> forHint(String hint, String cnpj, String email) {
+        if (hint == null) {
+            return Optional.empty();
+        }
+        String text = hint.toLowerCase(Locale.ROOT);
+        if (text.contains(Supplier.UK_CNPJ) || text.contains("cnpj")) {
+            return Optional.of(new BusinessRuleException(
+                    "CNPJ já cadastrado",
+                    List.of(new FieldError("cnpj", cnpj != null ? "CNPJ já cadastrado: " + cnpj : "CNPJ já cadastrado"))
+            ));
+        }
+        if (text.contains(Supplier.UK_EMAIL) || text.contains("email")) {
+            return Optional.of(new BusinessRuleException(
+                    "E-mail já cadastrado",
+                    List.of(new FieldError("email", email != null ? "E-mail já cadastrado: " + email : "E-mail já cadastrado"))
+            ));
+        }
+        return Optional.empty();
+    }
+}
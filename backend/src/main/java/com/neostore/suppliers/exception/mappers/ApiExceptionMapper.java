@@ -3,7 +3,6 @@ package com.neostore.suppliers.exception.mappers;
 import com.neostore.suppliers.api.payload.ApiErrorResponse;
 import com.neostore.suppliers.api.payload.FieldError;
 import com.neostore.suppliers.exception.ApiException;
-import com.neostore.suppliers.exception.BusinessRuleException;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
@@ -13,7 +12,6 @@ import jakarta.ws.rs.ext.Provider;
 import org.jboss.logging.Logger;
 
 import java.time.Instant;
-import java.util.Collections;
 import java.util.List;
 
 @Provider
@@ -32,12 +30,7 @@ public class ApiExceptionMapper implements ExceptionMapper<ApiException> {
         int statusCode = status.getStatusCode();
         String errorType = status.getReasonPhrase();
 
-        List<FieldError> fieldErrors = Collections.emptyList();
-
-        // Se for BusinessRuleException, recupera os fieldErrors
-        if (exception instanceof BusinessRuleException bre) {
-            fieldErrors = bre.getFieldErrors();
-        }
+        List<FieldError> fieldErrors = exception.getFieldErrors();
 
         ApiErrorResponse error = new ApiErrorResponse(
                 statusCode,
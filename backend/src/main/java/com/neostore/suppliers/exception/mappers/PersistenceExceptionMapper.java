@@ -2,16 +2,20 @@ package com.neostore.suppliers.exception.mappers;
 
 import com.neostore.suppliers.api.payload.ApiErrorResponse;
 import com.neostore.suppliers.exception.BusinessRuleException;
+import com.neostore.suppliers.exception.UniqueConstraintTranslator;
 import jakarta.persistence.PersistenceException;
 import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.UriInfo;
 import jakarta.ws.rs.ext.ExceptionMapper;
 import jakarta.ws.rs.ext.Provider;
 import java.util.Collections;
+import java.util.Optional;
 
 /**
  * Mapeia falhas de persistência para respostas HTTP.
+ * Violações de restrição única viram 409 com o campo em conflito.
  */
 @Provider
 public class PersistenceExceptionMapper implements ExceptionMapper<PersistenceException> {
@@ -20,10 +24,19 @@ public class PersistenceExceptionMapper implements ExceptionMapper<PersistenceEx
 
     @Override
     public Response toResponse(PersistenceException ex) {
-        // Verifica violação de constraint única
-        if (ex.getCause() != null && ex.getCause().getMessage().contains("constraint")) {
-            // Lança exceção de regra de negócio para ser tratada pelo ApiExceptionMapper
-            throw new BusinessRuleException("Violação de restrição única no banco de dados");
+        Optional<BusinessRuleException> conflict = UniqueConstraintTranslator.translate(ex, null, null);
+        if (conflict.isPresent()) {
+            BusinessRuleException bre = conflict.get();
+            ApiErrorResponse error = new ApiErrorResponse(
+                    bre.getStatus().getStatusCode(),
+                    bre.getStatus().getReasonPhrase(),
+                    uriInfo.getPath(),
+                    bre.getFieldErrors()
+            );
+            return Response.status(bre.getStatus())
+                    .entity(error)
+                    .type(MediaType.APPLICATION_JSON)
+                    .build();
         }
 
         ApiErrorResponse error = new ApiErrorResponse(
@@ -37,4 +50,4 @@ public class PersistenceExceptionMapper implements ExceptionMapper<PersistenceEx
                 .entity(error)
                 .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,26 @@
+package com.neostore.suppliers.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("neostore.ImportChunk")
+@Label("Lote de importação")
+@Description("Gravação de um lote de registros válidos")
+@Category({"NeoStore", "Importação"})
+@StackTrace(false)
+public class ImportChunkEvent extends Event {
+
+    @Label("Registros")
+    public int rows;
+
+    @Label("Rejeitados")
+    public int failed;
+
+    @Label("Registro a registro")
+    @Description("O lote foi rejeitado pelo banco e regravado um registro por vez")
+    public boolean fallback;
+}
@@ -0,0 +1,25 @@
+package com.neostore.suppliers.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("neostore.ImportRow")
+@Label("Registro importado")
+@Description("Do recebimento do registro até seu resultado, incluindo a espera pelo lote")
+@Category({"NeoStore", "Importação"})
+@StackTrace(false)
+public class ImportRowEvent extends Event {
+
+    @Label("Índice")
+    public int index;
+
+    @Label("Resultado")
+    public String outcome;
+
+    @Label("Erro")
+    public String error;
+}
@@ -0,0 +1,17 @@
+package com.neostore.suppliers.jfr;
+
+import jakarta.interceptor.InterceptorBinding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Emite um evento JFR por método de negócio do bean: {@link RepositoryQueryEvent} no
+ * repositório, {@link ServiceCallEvent} nos demais (ver {@link RecordedInterceptor}).
+ */
+@InterceptorBinding
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface Recorded {}
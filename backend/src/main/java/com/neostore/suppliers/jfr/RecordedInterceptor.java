@@ -0,0 +1,85 @@
+package com.neostore.suppliers.jfr;
+
+import com.neostore.suppliers.repository.PageResult;
+import com.neostore.suppliers.repository.SupplierRepository;
+import jakarta.annotation.Priority;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.StringJoiner;
+
+/**
+ * Emite um {@link RepositoryQueryEvent} por chamada ao repositório e um
+ * {@link ServiceCallEvent} pelas demais. Prioridade anterior à do {@code @Transactional},
+ * para que o evento inclua o commit.
+ */
+@Recorded
+@Interceptor
+@Priority(Interceptor.Priority.PLATFORM_BEFORE)
+public class RecordedInterceptor {
+
+    @AroundInvoke
+    public Object record(InvocationContext context) throws Exception {
+        return context.getTarget() instanceof SupplierRepository ? recordQuery(context) : recordCall(context);
+    }
+
+    private static Object recordCall(InvocationContext context) throws Exception {
+        ServiceCallEvent event = new ServiceCallEvent();
+        event.begin();
+        try {
+            return context.proceed();
+        } catch (Exception ex) {
+            event.exception = ex.getClass().getName();
+            throw ex;
+        } finally {
+            // Campos só são preenchidos se o evento for gravado
+            if (event.shouldCommit()) {
+                event.method = context.getMethod().getName();
+                event.commit();
+            }
+        }
+    }
+
+    private static Object recordQuery(InvocationContext context) throws Exception {
+        RepositoryQueryEvent event = new RepositoryQueryEvent();
+        event.begin();
+        Object result = null;
+        try {
+            result = context.proceed();
+            return result;
+        } finally {
+            if (event.shouldCommit()) {
+                Method method = context.getMethod();
+                event.method = method.getName();
+                event.parameterTypes = parameterTypes(method);
+                event.rows = rows(result);
+                event.commit();
+            }
+        }
+    }
+
+    private static String parameterTypes(Method method) {
+        StringJoiner types = new StringJoiner(", ");
+        for (Class<?> type : method.getParameterTypes()) {
+            types.add(type.getSimpleName());
+        }
+        return types.toString();
+    }
+
+    private static long rows(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof PageResult<?> page) {
+            return page.content().size();
+        }
+        return -1;
+    }
+}
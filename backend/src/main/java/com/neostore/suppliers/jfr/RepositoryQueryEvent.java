@@ -0,0 +1,26 @@
+package com.neostore.suppliers.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("neostore.RepositoryQuery")
+@Label("Consulta ao repositório")
+@Description("Chamada a SupplierRepository")
+@Category({"NeoStore", "Persistência"})
+@StackTrace(false)
+public class RepositoryQueryEvent extends Event {
+
+    @Label("Método")
+    public String method;
+
+    @Label("Tipos dos parâmetros")
+    public String parameterTypes;
+
+    @Label("Linhas")
+    @Description("Registros retornados; -1 quando o retorno não é uma coleção")
+    public long rows;
+}
@@ -0,0 +1,28 @@
+package com.neostore.suppliers.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("neostore.RestRequest")
+@Label("Requisição REST")
+@Description("Requisição atendida por um recurso da API, incluindo a serialização")
+@Category({"NeoStore", "REST"})
+@StackTrace(false)
+public class RestRequestEvent extends Event {
+
+    @Label("Endpoint")
+    public String endpoint;
+
+    @Label("Método HTTP")
+    public String method;
+
+    @Label("URI")
+    public String uri;
+
+    @Label("Status")
+    public int status;
+}
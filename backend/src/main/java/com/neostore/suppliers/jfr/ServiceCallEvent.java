@@ -0,0 +1,23 @@
+package com.neostore.suppliers.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("neostore.ServiceCall")
+@Label("Chamada de serviço")
+@Description("Método de negócio de SupplierService, incluindo a transação")
+@Category({"NeoStore", "Serviço"})
+@StackTrace(false)
+public class ServiceCallEvent extends Event {
+
+    @Label("Método")
+    public String method;
+
+    @Label("Exceção")
+    @Description("Classe da exceção lançada, se houver")
+    public String exception;
+}
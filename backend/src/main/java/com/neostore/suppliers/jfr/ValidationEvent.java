@@ -0,0 +1,25 @@
+package com.neostore.suppliers.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("neostore.Validation")
+@Label("Validação")
+@Description("Execução de um validador de CNPJ ou e-mail")
+@Category({"NeoStore", "Validação"})
+@StackTrace(false)
+public class ValidationEvent extends Event {
+
+    @Label("Validador")
+    public String validator;
+
+    @Label("Tamanho da entrada")
+    public int inputLength;
+
+    @Label("Válido")
+    public boolean valid;
+}
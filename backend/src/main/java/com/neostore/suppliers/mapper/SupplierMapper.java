@@ -1,6 +1,7 @@
 package com.neostore.suppliers.mapper;
 
 import com.neostore.suppliers.dto.SupplierDTO;
+import com.neostore.suppliers.metrics.RequestTimings;
 import com.neostore.suppliers.model.Supplier;
 
 import java.util.Collections;
@@ -21,13 +22,16 @@ public final class SupplierMapper {
         if (entity == null) {
             return null;
         }
-        return new SupplierDTO(
+        long start = RequestTimings.start();
+        SupplierDTO dto = new SupplierDTO(
                 entity.getId(),
                 entity.getName(),
                 entity.getEmail(),
                 entity.getDescription(),
                 entity.getCnpj()
         );
+        RequestTimings.record("mapping", null, start);
+        return dto;
     }
 
     /**
@@ -37,11 +41,13 @@ public final class SupplierMapper {
         if (dto == null) {
             return null;
         }
+        long start = RequestTimings.start();
         Supplier entity = new Supplier();
         entity.setName(dto.name());
         entity.setEmail(dto.email());
         entity.setDescription(dto.description());
         entity.setCnpj(dto.cnpj());
+        RequestTimings.record("mapping", null, start);
         return entity;
     }
 
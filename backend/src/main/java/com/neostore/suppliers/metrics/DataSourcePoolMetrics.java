@@ -0,0 +1,129 @@
+package com.neostore.suppliers.metrics;
+
+import javax.management.Attribute;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Converte as estatísticas do pool de conexões dos datasources do WildFly em séries do
+ * Prometheus no momento da coleta. Lê as MBeans {@code statistics=pool} do subsistema
+ * datasources, que só existem com {@code statistics-enabled=true} no datasource; sem
+ * elas nada é exportado.
+ */
+public final class DataSourcePoolMetrics {
+
+    /** Série exportada a partir de um atributo do pool; os tempos do pool vêm em ms. */
+    private record Series(String name, String type, String help, String attribute, boolean millis) {}
+
+    /** Contagem de conexões em um estado, exportada com o rótulo {@code state}. */
+    private record State(String attribute, String label) {}
+
+    private static final List<State> STATES = List.of(
+            new State("ActiveCount", "active"), new State("AvailableCount", "available"),
+            new State("InUseCount", "in_use"), new State("IdleCount", "idle"));
+
+    private static final List<Series> SERIES = List.of(
+            new Series("datasource_pool_waits_total", "counter",
+                    "Pedidos de conexão que esperaram por uma conexão livre", "WaitCount", false),
+            new Series("datasource_pool_acquire_failures_total", "counter",
+                    "Pedidos de conexão que desistiram ao fim da espera", "BlockingFailureCount", false),
+            new Series("datasource_pool_blocking_seconds_total", "counter",
+                    "Tempo total de espera por uma conexão livre", "TotalBlockingTime", true),
+            new Series("datasource_pool_get_seconds_total", "counter",
+                    "Tempo total para obter conexões do pool", "TotalGetTime", true),
+            new Series("datasource_pool_get_average_seconds", "gauge",
+                    "Tempo médio para obter uma conexão do pool", "AverageGetTime", true),
+            new Series("datasource_pool_wait_max_seconds", "gauge",
+                    "Maior espera por uma conexão livre desde o início", "MaxWaitTime", true));
+
+    /** Nome em minúsculas → nome do atributo usado acima. */
+    private static final Map<String, String> ATTRIBUTES = new HashMap<>();
+
+    private static final ObjectName POOLS;
+
+    static {
+        STATES.forEach(state -> ATTRIBUTES.put(state.attribute().toLowerCase(Locale.ROOT), state.attribute()));
+        SERIES.forEach(series -> ATTRIBUTES.put(series.attribute().toLowerCase(Locale.ROOT), series.attribute()));
+        try {
+            POOLS = new ObjectName("jboss.as:subsystem=datasources,data-source=*,statistics=pool");
+        } catch (MalformedObjectNameException ex) {
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+
+    private DataSourcePoolMetrics() {}
+
+    public static void writeTo(StringBuilder out, MBeanServer server) {
+        StringBuilder connections = new StringBuilder();
+        Map<Series, StringBuilder> samples = new HashMap<>();
+        SERIES.forEach(series -> samples.put(series, new StringBuilder()));
+
+        for (ObjectName pool : new TreeSet<>(server.queryNames(POOLS, null))) {
+            Map<String, Long> values = read(server, pool);
+            String dataSource = pool.getKeyProperty("data-source");
+            for (State state : STATES) {
+                Long count = values.get(state.attribute());
+                if (count != null) {
+                    PrometheusText.sample(connections, "datasource_pool_connections",
+                            PrometheusText.labels("data_source", dataSource, "state", state.label()), count);
+                }
+            }
+            for (Series series : SERIES) {
+                Long value = values.get(series.attribute());
+                if (value == null) {
+                    continue;
+                }
+                String labels = PrometheusText.labels("data_source", dataSource);
+                if (series.millis()) {
+                    PrometheusText.sample(samples.get(series), series.name(), labels, value / 1000.0);
+                } else {
+                    PrometheusText.sample(samples.get(series), series.name(), labels, value);
+                }
+            }
+        }
+
+        if (!connections.isEmpty()) {
+            PrometheusText.header(out, "datasource_pool_connections", "gauge", "Conexões do pool por estado");
+            out.append(connections);
+        }
+        for (Series series : SERIES) {
+            if (!samples.get(series).isEmpty()) {
+                PrometheusText.header(out, series.name(), series.type(), series.help());
+                out.append(samples.get(series));
+            }
+        }
+    }
+
+    /**
+     * Lê os atributos numéricos conhecidos, pelo nome sem distinção de caixa: o domínio
+     * {@code jboss.as} expõe os nomes com a inicial minúscula.
+     */
+    private static Map<String, Long> read(MBeanServer server, ObjectName pool) {
+        Map<String, Long> values = new HashMap<>();
+        try {
+            Map<String, String> exposed = new HashMap<>();
+            for (MBeanAttributeInfo info : server.getMBeanInfo(pool).getAttributes()) {
+                String attribute = ATTRIBUTES.get(info.getName().toLowerCase(Locale.ROOT));
+                if (attribute != null) {
+                    exposed.put(info.getName(), attribute);
+                }
+            }
+            for (Attribute attribute : server.getAttributes(pool, exposed.keySet().toArray(String[]::new)).asList()) {
+                if (attribute.getValue() instanceof Number number) {
+                    values.put(exposed.get(attribute.getName()), number.longValue());
+                }
+            }
+        } catch (JMException ex) {
+            // Datasource removido entre a busca e a leitura: fica sem amostras nesta coleta
+        }
+        return values;
+    }
+}
@@ -0,0 +1,27 @@
+package com.neostore.suppliers.metrics;
+
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.ext.Provider;
+
+/**
+ * Anota a requisição com o método de recurso que a atende. Em contêiner de servlets
+ * as propriedades da requisição são atributos do servlet, lidos por {@link RequestMetricsFilter}.
+ */
+@Provider
+@Metered
+public class EndpointFilter implements ContainerRequestFilter {
+
+    static final String ENDPOINT_PROPERTY = EndpointFilter.class.getName() + ".endpoint";
+
+    @Context
+    private ResourceInfo resourceInfo;
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        requestContext.setProperty(ENDPOINT_PROPERTY,
+                resourceInfo.getResourceClass().getSimpleName() + "#" + resourceInfo.getResourceMethod().getName());
+    }
+}
@@ -0,0 +1,77 @@
+package com.neostore.suppliers.metrics;
+
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+import java.util.Arrays;
+
+/**
+ * Converte as estatísticas do Hibernate ({@code hibernate.generate_statistics=true})
+ * em séries do Prometheus no momento da coleta.
+ */
+public final class HibernateMetrics {
+
+    private HibernateMetrics() {}
+
+    public static void writeTo(StringBuilder out, Statistics stats) {
+        if (!stats.isStatisticsEnabled()) {
+            return;
+        }
+        counter(out, "hibernate_sessions_opened_total", "Sessões abertas", stats.getSessionOpenCount());
+        counter(out, "hibernate_connections_obtained_total", "Conexões JDBC obtidas", stats.getConnectCount());
+        counter(out, "hibernate_transactions_total", "Transações concluídas", stats.getTransactionCount());
+        counter(out, "hibernate_statements_prepared_total", "Statements JDBC preparados", stats.getPrepareStatementCount());
+        counter(out, "hibernate_queries_executed_total", "Consultas HQL/SQL executadas", stats.getQueryExecutionCount());
+        counter(out, "hibernate_optimistic_failures_total", "Falhas de bloqueio otimista", stats.getOptimisticFailureCount());
+
+        PrometheusText.header(out, "hibernate_query_execution_max_seconds", "gauge", "Consulta mais lenta desde o início");
+        PrometheusText.sample(out, "hibernate_query_execution_max_seconds", "", stats.getQueryExecutionMaxTime() / 1000.0);
+
+        String name = "hibernate_entity_operations_total";
+        PrometheusText.header(out, name, "counter", "Operações sobre entidades");
+        PrometheusText.sample(out, name, PrometheusText.labels("operation", "load"), stats.getEntityLoadCount());
+        PrometheusText.sample(out, name, PrometheusText.labels("operation", "fetch"), stats.getEntityFetchCount());
+        PrometheusText.sample(out, name, PrometheusText.labels("operation", "insert"), stats.getEntityInsertCount());
+        PrometheusText.sample(out, name, PrometheusText.labels("operation", "update"), stats.getEntityUpdateCount());
+        PrometheusText.sample(out, name, PrometheusText.labels("operation", "delete"), stats.getEntityDeleteCount());
+
+        writeRegions(out, stats);
+    }
+
+    private static void writeRegions(StringBuilder out, Statistics stats) {
+        String[] regions = stats.getSecondLevelCacheRegionNames();
+        Arrays.sort(regions);
+        StringBuilder requests = new StringBuilder();
+        StringBuilder puts = new StringBuilder();
+        StringBuilder ratios = new StringBuilder();
+        for (String region : regions) {
+            CacheRegionStatistics regionStats = stats.getCacheRegionStatistics(region);
+            if (regionStats == null) {
+                continue;
+            }
+            long hits = regionStats.getHitCount();
+            long misses = regionStats.getMissCount();
+            String requestsName = "hibernate_second_level_cache_requests_total";
+            PrometheusText.sample(requests, requestsName, PrometheusText.labels("region", region, "result", "hit"), hits);
+            PrometheusText.sample(requests, requestsName, PrometheusText.labels("region", region, "result", "miss"), misses);
+            PrometheusText.sample(puts, "hibernate_second_level_cache_puts_total",
+                    PrometheusText.labels("region", region), regionStats.getPutCount());
+            PrometheusText.sample(ratios, "hibernate_second_level_cache_hit_ratio",
+                    PrometheusText.labels("region", region), hits + misses == 0 ? 0 : (double) hits / (hits + misses));
+        }
+        PrometheusText.header(out, "hibernate_second_level_cache_requests_total", "counter",
+                "Consultas ao cache de segundo nível por região");
+        out.append(requests);
+        PrometheusText.header(out, "hibernate_second_level_cache_puts_total", "counter",
+                "Inclusões no cache de segundo nível por região");
+        out.append(puts);
+        PrometheusText.header(out, "hibernate_second_level_cache_hit_ratio", "gauge",
+                "Proporção de acertos do cache de segundo nível desde o início");
+        out.append(ratios);
+    }
+
+    private static void counter(StringBuilder out, String name, String help, long value) {
+        PrometheusText.header(out, name, "counter", help);
+        PrometheusText.sample(out, name, "", value);
+    }
+}
@@ -0,0 +1,78 @@
+package com.neostore.suppliers.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de durações com limites fixos, em segundos. Cada observação incrementa
+ * um único contador sem bloqueio; os valores acumulados por limite são calculados
+ * apenas na coleta.
+ */
+public final class Histogram {
+
+    /** Limites padrão, de 1 ms a 10 s. */
+    static final double[] DEFAULT_BOUNDS = {0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10};
+
+    private final double[] bounds;
+    private final long[] boundNanos;
+    /** Um contador por faixa; o último recebe o que passa do maior limite. */
+    private final LongAdder[] buckets;
+    private final LongAdder sumNanos = new LongAdder();
+
+    public Histogram() {
+        this(DEFAULT_BOUNDS);
+    }
+
+    Histogram(double[] bounds) {
+        this.bounds = bounds.clone();
+        this.boundNanos = new long[bounds.length];
+        for (int i = 0; i < bounds.length; i++) {
+            boundNanos[i] = (long) (bounds[i] * 1_000_000_000L);
+        }
+        this.buckets = new LongAdder[bounds.length + 1];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Registra uma duração medida com {@link System#nanoTime()}.
+     */
+    public void observeNanos(long nanos) {
+        int i = 0;
+        while (i < boundNanos.length && nanos > boundNanos[i]) {
+            i++;
+        }
+        buckets[i].increment();
+        sumNanos.add(nanos);
+    }
+
+    public long count() {
+        long count = 0;
+        for (LongAdder bucket : buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    public double sumSeconds() {
+        return sumNanos.sum() / 1e9;
+    }
+
+    /**
+     * Escreve as séries {@code _bucket}, {@code _sum} e {@code _count}.
+     * @param labels rótulos da série (ver {@link PrometheusText#labels}), possivelmente vazios
+     */
+    void writeTo(StringBuilder out, String name, String labels) {
+        String prefix = labels.isEmpty() ? "" : labels + ",";
+        long cumulative = 0;
+        for (int i = 0; i < bounds.length; i++) {
+            cumulative += buckets[i].sum();
+            PrometheusText.sample(out, name + "_bucket", prefix + "le=\"" + bounds[i] + "\"", cumulative);
+        }
+        cumulative += buckets[bounds.length].sum();
+        PrometheusText.sample(out, name + "_bucket", prefix + "le=\"+Inf\"", cumulative);
+        PrometheusText.sample(out, name + "_sum", labels, sumSeconds());
+        // A contagem é a do +Inf, para ficar consistente com as faixas mesmo durante escritas
+        PrometheusText.sample(out, name + "_count", labels, cumulative);
+    }
+}
@@ -0,0 +1,17 @@
+package com.neostore.suppliers.metrics;
+
+import jakarta.ws.rs.NameBinding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Inclui os métodos do recurso JAX-RS em {@code neostore_http_server_requests_seconds}
+ * (ver {@link EndpointFilter} e {@link RequestMetricsFilter}).
+ */
+@NameBinding
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface Metered {}
@@ -0,0 +1,67 @@
+package com.neostore.suppliers.metrics;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métricas da aplicação em memória, expostas no formato do Prometheus.
+ * Cada série é criada no primeiro uso e nunca é removida.
+ */
+@ApplicationScoped
+public class MetricsRegistry {
+
+    private final ConcurrentMap<String, Family> families = new ConcurrentSkipListMap<>();
+
+    /**
+     * @param labels pares nome/valor dos rótulos da série
+     */
+    public Histogram histogram(String name, String help, String... labels) {
+        return (Histogram) family(name, "histogram", help)
+                .series.computeIfAbsent(PrometheusText.labels(labels), key -> new Histogram());
+    }
+
+    /**
+     * @param name   nome do contador, terminado em {@code _total}
+     * @param labels pares nome/valor dos rótulos da série
+     */
+    public LongAdder counter(String name, String help, String... labels) {
+        return (LongAdder) family(name, "counter", help)
+                .series.computeIfAbsent(PrometheusText.labels(labels), key -> new LongAdder());
+    }
+
+    /**
+     * Escreve todas as séries, agrupadas por nome em ordem alfabética.
+     */
+    public void writeTo(StringBuilder out) {
+        for (Map.Entry<String, Family> entry : families.entrySet()) {
+            String name = entry.getKey();
+            Family family = entry.getValue();
+            PrometheusText.header(out, name, family.type, family.help);
+            for (Map.Entry<String, Object> series : family.series.entrySet()) {
+                if (series.getValue() instanceof Histogram histogram) {
+                    histogram.writeTo(out, name, series.getKey());
+                } else {
+                    PrometheusText.sample(out, name, series.getKey(), ((LongAdder) series.getValue()).sum());
+                }
+            }
+        }
+    }
+
+    private Family family(String name, String type, String help) {
+        Family family = families.computeIfAbsent(name, key -> new Family(type, help));
+        if (!family.type.equals(type)) {
+            throw new IllegalArgumentException("Métrica " + name + " já registrada como " + family.type);
+        }
+        return family;
+    }
+
+    private record Family(String type, String help, ConcurrentMap<String, Object> series) {
+        Family(String type, String help) {
+            this(type, help, new ConcurrentSkipListMap<>());
+        }
+    }
+}
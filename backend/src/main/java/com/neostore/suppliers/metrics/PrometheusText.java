@@ -0,0 +1,78 @@
+package com.neostore.suppliers.metrics;
+
+/**
+ * Escrita no formato de exposição em texto do Prometheus (versão 0.0.4).
+ */
+public final class PrometheusText {
+
+    /** Tipo de mídia da resposta de coleta. */
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private PrometheusText() {}
+
+    /**
+     * Monta a lista de rótulos a partir de pares nome/valor, sem as chaves.
+     * @throws IllegalArgumentException se a quantidade de argumentos for ímpar
+     */
+    public static String labels(String... pairs) {
+        if (pairs.length % 2 != 0) {
+            throw new IllegalArgumentException("Rótulos devem vir em pares nome/valor");
+        }
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i < pairs.length; i += 2) {
+            if (i > 0) {
+                out.append(',');
+            }
+            out.append(pairs[i]).append("=\"");
+            appendEscaped(out, pairs[i + 1]);
+            out.append('"');
+        }
+        return out.toString();
+    }
+
+    public static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    public static void sample(StringBuilder out, String name, String labels, long value) {
+        appendName(out, name, labels).append(value).append('\n');
+    }
+
+    public static void sample(StringBuilder out, String name, String labels, double value) {
+        appendName(out, name, labels).append(format(value)).append('\n');
+    }
+
+    static String format(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+        return Double.toString(value);
+    }
+
+    private static StringBuilder appendName(StringBuilder out, String name, String labels) {
+        out.append(name);
+        if (labels != null && !labels.isEmpty()) {
+            out.append('{').append(labels).append('}');
+        }
+        return out.append(' ');
+    }
+
+    private static void appendEscaped(StringBuilder out, String value) {
+        if (value == null) {
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> out.append("\\\\");
+                case '"' -> out.append("\\\"");
+                case '\n' -> out.append("\\n");
+                default -> out.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.neostore.suppliers.metrics;
+
+import com.neostore.suppliers.jfr.RestRequestEvent;
+import jakarta.inject.Inject;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.annotation.WebFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+
+/**
+ * Mede a requisição inteira no nível do servlet, incluindo a serialização e as
+ * respostas em streaming, que terminam depois dos filtros JAX-RS. Só registra as
+ * requisições marcadas por {@link EndpointFilter}, que também viram {@link RestRequestEvent} no JFR.
+ */
+@WebFilter(urlPatterns = "/api/*")
+public class RequestMetricsFilter implements Filter {
+
+    static final String METRIC = "neostore_http_server_requests_seconds";
+
+    @Inject
+    private MetricsRegistry registry;
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        RestRequestEvent event = new RestRequestEvent();
+        event.begin();
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = false;
+        } finally {
+            Object endpoint = request.getAttribute(EndpointFilter.ENDPOINT_PROPERTY);
+            if (endpoint != null) {
+                int status = ((HttpServletResponse) response).getStatus();
+                if (failed && status < 400) {
+                    status = 500;
+                }
+                registry.histogram(METRIC, "Duração das requisições HTTP por método de recurso",
+                                "endpoint", (String) endpoint,
+                                "method", ((HttpServletRequest) request).getMethod(),
+                                "status", Integer.toString(status))
+                        .observeNanos(System.nanoTime() - start);
+                if (event.shouldCommit()) {
+                    event.endpoint = (String) endpoint;
+                    event.method = ((HttpServletRequest) request).getMethod();
+                    event.uri = ((HttpServletRequest) request).getRequestURI();
+                    event.status = status;
+                    event.commit();
+                }
+            }
+        }
+    }
+}
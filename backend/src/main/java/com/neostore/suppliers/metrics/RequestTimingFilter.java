@@ -0,0 +1,44 @@
+package com.neostore.suppliers.metrics;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.annotation.WebFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+
+/**
+ * Abre o {@link RequestTimings} de cada requisição da API e registra no log as que
+ * passam de {@code neostore.slow-request.threshold-ms} (padrão 1000), com o tempo de
+ * cada fase, incluindo a serialização, que termina depois do cabeçalho {@code Server-Timing}.
+ */
+@WebFilter(urlPatterns = "/api/*")
+public class RequestTimingFilter implements Filter {
+
+    private static final Logger LOG = Logger.getLogger(RequestTimingFilter.class);
+
+    static final long SLOW_THRESHOLD_NANOS =
+            Long.getLong("neostore.slow-request.threshold-ms", 1000) * 1_000_000L;
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        RequestTimings timings = RequestTimings.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestTimings.end();
+            if (timings.elapsedNanos() >= SLOW_THRESHOLD_NANOS) {
+                HttpServletRequest http = (HttpServletRequest) request;
+                LOG.warnf("Requisição lenta: %s %s -> %d [%s]",
+                        http.getMethod(), http.getRequestURI(),
+                        ((HttpServletResponse) response).getStatus(), timings.toServerTiming());
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.neostore.suppliers.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Tempos por fase da requisição em andamento (validação, cada chamada ao repositório,
+ * mapeamento, serialização). Fica associado à thread que atende a requisição entre
+ * {@link #begin()} e {@link #end()}; fora disso, como nos jobs de importação em segundo
+ * plano, os registros são ignorados sem custo além da leitura do {@link ThreadLocal}.
+ */
+public final class RequestTimings {
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    /** Fase (nome e descrição) para {duração acumulada em ns, quantidade}, em ordem de ocorrência. */
+    private final Map<Phase, long[]> phases = new LinkedHashMap<>();
+
+    private RequestTimings() {}
+
+    public static RequestTimings begin() {
+        RequestTimings timings = new RequestTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /** Coletor da requisição atual, ou null fora de uma requisição. */
+    public static RequestTimings current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Início de uma medição; 0 quando não há requisição em andamento.
+     */
+    public static long start() {
+        return CURRENT.get() != null ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Acumula o tempo decorrido desde {@code startNanos} (obtido de {@link #start()}) na fase.
+     * @param desc detalhe da fase, como o método do repositório (pode ser null)
+     */
+    public static void record(String name, String desc, long startNanos) {
+        if (startNanos == 0) {
+            return;
+        }
+        long elapsed = System.nanoTime() - startNanos;
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.add(name, desc, elapsed);
+        }
+    }
+
+    void add(String name, String desc, long nanos) {
+        long[] phase = phases.computeIfAbsent(new Phase(name, desc), key -> new long[2]);
+        phase[0] += nanos;
+        phase[1]++;
+    }
+
+    public long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Valor do cabeçalho {@code Server-Timing}: cada fase em milissegundos e, em
+     * {@code app}, o tempo total até agora.
+     */
+    public String toServerTiming() {
+        StringBuilder out = new StringBuilder();
+        for (Map.Entry<Phase, long[]> entry : phases.entrySet()) {
+            Phase phase = entry.getKey();
+            long[] value = entry.getValue();
+            out.append(phase.name());
+            if (phase.desc() != null || value[1] > 1) {
+                out.append(";desc=\"");
+                if (phase.desc() != null) {
+                    out.append(phase.desc());
+                }
+                if (value[1] > 1) {
+                    out.append(phase.desc() != null ? " x" : "x").append(value[1]);
+                }
+                out.append('"');
+            }
+            out.append(";dur=").append(millis(value[0])).append(", ");
+        }
+        return out.append("app;dur=").append(millis(elapsedNanos())).toString();
+    }
+
+    static String millis(long nanos) {
+        // Duas casas decimais, sem o custo de String.format
+        long hundredths = (nanos + 5_000) / 10_000;
+        long fraction = hundredths % 100;
+        return (hundredths / 100) + (fraction < 10 ? ".0" : ".") + fraction;
+    }
+
+    private record Phase(String name, String desc) {}
+}
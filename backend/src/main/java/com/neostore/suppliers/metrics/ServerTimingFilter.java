@@ -0,0 +1,38 @@
+package com.neostore.suppliers.metrics;
+
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.ext.Provider;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+
+import java.io.IOException;
+
+/**
+ * Envia as fases medidas até o fim do método de recurso no cabeçalho {@code Server-Timing}
+ * e mede a serialização do corpo, que só entra no log de requisições lentas.
+ */
+@Provider
+public class ServerTimingFilter implements ContainerResponseFilter, WriterInterceptor {
+
+    static final String HEADER = "Server-Timing";
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        RequestTimings timings = RequestTimings.current();
+        if (timings != null) {
+            responseContext.getHeaders().putSingle(HEADER, timings.toServerTiming());
+        }
+    }
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+        long start = RequestTimings.start();
+        try {
+            context.proceed();
+        } finally {
+            RequestTimings.record("serialization", null, start);
+        }
+    }
+}
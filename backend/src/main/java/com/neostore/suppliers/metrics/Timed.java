@@ -0,0 +1,17 @@
+package com.neostore.suppliers.metrics;
+
+import jakarta.interceptor.InterceptorBinding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Mede a duração de cada método de negócio do bean em
+ * {@code neostore_repository_query_seconds} (ver {@link TimedInterceptor}).
+ */
+@InterceptorBinding
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface Timed {}
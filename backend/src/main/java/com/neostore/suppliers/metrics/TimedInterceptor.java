@@ -0,0 +1,42 @@
+package com.neostore.suppliers.metrics;
+
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registra a duração no histograma e no {@link RequestTimings} da requisição.
+ */
+@Timed
+@Interceptor
+@Priority(Interceptor.Priority.APPLICATION)
+public class TimedInterceptor {
+
+    static final String METRIC = "neostore_repository_query_seconds";
+
+    @Inject
+    private MetricsRegistry registry;
+
+    /** Série por método, resolvida uma vez para não montar rótulos a cada chamada. */
+    private final Map<Method, Histogram> histograms = new ConcurrentHashMap<>();
+
+    @AroundInvoke
+    public Object time(InvocationContext context) throws Exception {
+        long start = System.nanoTime();
+        try {
+            return context.proceed();
+        } finally {
+            Method method = context.getMethod();
+            histograms.computeIfAbsent(method, key -> registry.histogram(
+                    METRIC, "Duração das chamadas ao repositório de fornecedores", "method", key.getName()))
+                    .observeNanos(System.nanoTime() - start);
+            RequestTimings.record("db", method.getName(), start);
+        }
+    }
+}
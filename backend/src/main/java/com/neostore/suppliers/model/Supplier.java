@@ -1,18 +1,46 @@
 package com.neostore.suppliers.model;
 
+import com.neostore.suppliers.util.CnpjFormatter;
+import com.neostore.suppliers.util.EmailNormalizer;
+import com.neostore.suppliers.util.NameNormalizer;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
 import java.util.Objects;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache
+@DynamicUpdate
 @Table(
         name = "suppliers",
         uniqueConstraints = {
-                @UniqueConstraint(columnNames = "cnpj"),
-                @UniqueConstraint(columnNames = "email")
+                @UniqueConstraint(name = Supplier.UK_CNPJ, columnNames = "cnpj_key"),
+                @UniqueConstraint(name = Supplier.UK_EMAIL, columnNames = "email_key")
+        },
+        indexes = {
+                @Index(name = "idx_suppliers_email_hash", columnList = "email_hash"),
+                @Index(name = "idx_suppliers_name_key", columnList = "name_key, id"),
+                // Domínio seguido de cada ordenação: filtra e ordena pelo mesmo índice
+                @Index(name = "idx_suppliers_email_domain", columnList = "email_domain, id"),
+                @Index(name = "idx_suppliers_email_domain_name", columnList = "email_domain, name_key, id"),
+                @Index(name = "idx_suppliers_email_domain_email", columnList = "email_domain, email_key"),
+                @Index(name = "idx_suppliers_email_domain_cnpj", columnList = "email_domain, cnpj_key")
         }
 )
 public class Supplier {
 
+    /** Nome da restrição única da chave de CNPJ, usado para traduzir violações. */
+    public static final String UK_CNPJ = "uk_suppliers_cnpj_key";
+
+    /** Nome da restrição única da chave de e-mail, usado para traduzir violações. */
+    public static final String UK_EMAIL = "uk_suppliers_email_key";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -20,39 +48,146 @@ public class Supplier {
     @Column(nullable = false, length = 100)
     private String name;
 
-    @Column(nullable = false, length = 100, unique = true)
+    /** Nome normalizado (ver {@link NameNormalizer}), usado no filtro por prefixo e na ordenação. */
+    @Column(name = "name_key", length = 255)
+    private String nameKey;
+
+    /** E-mail como informado, usado apenas para exibição. */
+    @Column(nullable = false, length = 100)
     private String email;
 
+    /** E-mail normalizado (ver {@link EmailNormalizer}); é a chave única do e-mail. */
+    @Column(name = "email_key", length = 100)
+    private String emailKey;
+
+    /** Hash de 64 bits de {@code emailKey}, indexado para buscas por igualdade. */
+    @Column(name = "email_hash")
+    private Long emailHash;
+
+    /** Domínio do e-mail em minúsculas, indexado para o filtro por domínio. */
+    @Column(name = "email_domain", length = 100)
+    private String emailDomain;
+
     @Column(nullable = false, length = 255)
     private String description;
 
-    @Column(nullable = false, length = 18, unique = true)
+    /** CNPJ na máscara canônica 00.000.000/0000-00, usado apenas para exibição. */
+    @Column(nullable = false, length = 18)
     private String cnpj;
 
+    /**
+     * Os 14 dígitos do CNPJ; é a chave única usada nas buscas e na deduplicação. Como ID
+     * natural, a resolução chave → ID fica no cache de segundo nível; o Hibernate admite
+     * um só ID natural por entidade, por isso o e-mail não tem esse cache.
+     */
+    @NaturalId(mutable = true)
+    @Column(name = "cnpj_key")
+    private Long cnpjKey;
+
+    /**
+     * Marca registros antigos cuja chave de CNPJ ou de e-mail não pôde ser preenchida
+     * (duplicada ou inválida); o preenchimento deixa de relê-los. Volte a null após
+     * corrigir o cadastro para que sejam reprocessados.
+     */
+    @Column(name = "natural_keys_skipped")
+    private Boolean naturalKeysSkipped;
+
+    /** Versão para controle de concorrência otimista; base das ETags da API. */
+    @Version
+    @Column(name = "version")
+    private Long version;
+
     public Supplier() {
         // JPA
     }
 
     public Supplier(String name, String email, String description, String cnpj) {
-        this.name = name;
-        this.email = email;
+        // Atribuições privadas: o construtor não chama métodos sobrescrevíveis
+        assignName(name);
+        assignEmail(email);
         this.description = description;
-        this.cnpj = cnpj;
+        assignCnpj(cnpj);
     }
 
     public Long getId() { return id; }
 
     public String getName() { return name; }
-    public void setName(String name) { this.name = name; }
+
+    /**
+     * Grava o nome informado junto com sua forma normalizada.
+     */
+    public void setName(String name) {
+        assignName(name);
+    }
+
+    public String getNameKey() { return nameKey; }
 
     public String getEmail() { return email; }
-    public void setEmail(String email) { this.email = email; }
+
+    /**
+     * Grava o e-mail informado junto com sua forma normalizada e o hash dela.
+     */
+    public void setEmail(String email) {
+        assignEmail(email);
+    }
+
+    /**
+     * Preenche só o domínio a partir do e-mail já gravado, para registros antigos cuja
+     * chave de e-mail não pôde ser preenchida.
+     */
+    public void fillEmailDomain() {
+        this.emailDomain = EmailNormalizer.domain(email);
+    }
+
+    public String getEmailKey() { return emailKey; }
+    public Long getEmailHash() { return emailHash; }
+    public String getEmailDomain() { return emailDomain; }
 
     public String getDescription() { return description; }
     public void setDescription(String description) { this.description = description; }
 
     public String getCnpj() { return cnpj; }
-    public void setCnpj(String cnpj) { this.cnpj = cnpj; }
+
+    /**
+     * Aceita o CNPJ com ou sem máscara e grava a forma canônica e a chave numérica.
+     */
+    public void setCnpj(String cnpj) {
+        assignCnpj(cnpj);
+    }
+
+    public Long getCnpjKey() { return cnpjKey; }
+
+    public void markNaturalKeysSkipped() {
+        this.naturalKeysSkipped = Boolean.TRUE;
+    }
+
+    /**
+     * Preenche só a chave numérica a partir do CNPJ já gravado, sem reescrevê-lo na
+     * máscara: registros antigos sem máscara continuam distintos na restrição única
+     * original da coluna {@code cnpj}, que o {@code hbm2ddl=update} não remove.
+     */
+    public void fillCnpjKey() {
+        this.cnpjKey = CnpjFormatter.toKey(cnpj);
+    }
+
+    public Long getVersion() { return version; }
+
+    private void assignName(String name) {
+        this.name = name;
+        this.nameKey = NameNormalizer.normalize(name);
+    }
+
+    private void assignEmail(String email) {
+        this.email = email;
+        this.emailKey = EmailNormalizer.normalize(email);
+        this.emailHash = emailKey != null ? EmailNormalizer.hash(emailKey) : null;
+        this.emailDomain = EmailNormalizer.domain(email);
+    }
+
+    private void assignCnpj(String cnpj) {
+        this.cnpjKey = CnpjFormatter.toKey(cnpj);
+        this.cnpj = cnpjKey != null ? CnpjFormatter.format(cnpjKey) : cnpj;
+    }
 
     @Override
     public boolean equals(Object o) {
@@ -0,0 +1,8 @@
+package com.neostore.suppliers.repository;
+
+import java.util.List;
+
+/**
+ * Página de resultados com o total de registros, obtidos na mesma consulta.
+ */
+public record PageResult<T>(List<T> content, long total) {}
@@ -0,0 +1,90 @@
+package com.neostore.suppliers.repository;
+
+import com.neostore.suppliers.util.NameNormalizer;
+
+import java.util.Locale;
+
+/**
+ * Filtros da listagem de fornecedores, já na forma comparada com o banco.
+ * Campos null (ou em branco na entrada) não filtram.
+ *
+ * @param namePrefix  início do nome, normalizado (ver {@link NameNormalizer})
+ * @param emailDomain domínio do e-mail em minúsculas, sem {@code @}
+ * @param cnpjPrefix  primeiros dígitos do CNPJ, sem máscara
+ * @param description trecho da descrição, em minúsculas
+ */
+public record SupplierFilter(String namePrefix, String emailDomain, String cnpjPrefix, String description) {
+
+    /** Sem filtros: todos os fornecedores. */
+    public static final SupplierFilter NONE = new SupplierFilter(null, null, null, null);
+
+    private static final int CNPJ_DIGITS = 14;
+
+    /**
+     * @throws IllegalArgumentException se o prefixo de CNPJ tiver algo além de dígitos e
+     *                                  separadores da máscara, ou mais de 14 dígitos
+     */
+    public SupplierFilter {
+        namePrefix = blankToNull(NameNormalizer.normalize(namePrefix));
+        emailDomain = blankToNull(emailDomain == null ? null
+                : emailDomain.strip().replaceFirst("^@", "").toLowerCase(Locale.ROOT));
+        cnpjPrefix = blankToNull(cnpjDigits(cnpjPrefix));
+        description = blankToNull(description == null ? null : description.strip().toLowerCase(Locale.ROOT));
+    }
+
+    public boolean isEmpty() {
+        return namePrefix == null && emailDomain == null && cnpjPrefix == null && description == null;
+    }
+
+    /**
+     * Ordenação usada quando nenhuma é pedida: a do filtro por intervalo (nome ou CNPJ),
+     * para que o mesmo índice selecione e ordene; senão, por ID.
+     */
+    public SupplierSort defaultSort() {
+        if (emailDomain == null && namePrefix != null) {
+            return SupplierSort.NAME;
+        }
+        if (emailDomain == null && cnpjPrefix != null) {
+            return SupplierSort.CNPJ;
+        }
+        return SupplierSort.ID;
+    }
+
+    /**
+     * Se um único índice seleciona as linhas do filtro já na ordem pedida: o domínio
+     * (igualdade) combina com qualquer ordenação; sem ele, o início do nome ou do CNPJ
+     * (intervalo) só com a ordenação pela mesma coluna. Os demais filtros, e o trecho da
+     * descrição, restringem as linhas lidas pelo índice. Sem filtros, cada ordenação tem o
+     * seu índice.
+     */
+    public boolean isIndexedWith(SupplierSort sort) {
+        if (emailDomain != null) {
+            return true;
+        }
+        if (namePrefix == null && cnpjPrefix == null) {
+            return description == null;
+        }
+        return namePrefix != null && sort == SupplierSort.NAME || cnpjPrefix != null && sort == SupplierSort.CNPJ;
+    }
+
+    private static String cnpjDigits(String prefix) {
+        if (prefix == null) return null;
+        StringBuilder digits = new StringBuilder(CNPJ_DIGITS);
+        for (int i = 0; i < prefix.length(); i++) {
+            char c = prefix.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            } else if (c != '.' && c != '/' && c != '-' && !Character.isWhitespace(c)) {
+                throw new IllegalArgumentException("Prefixo de CNPJ inválido: " + prefix);
+            }
+        }
+        if (digits.length() > CNPJ_DIGITS) {
+            throw new IllegalArgumentException("Prefixo de CNPJ com mais de 14 dígitos: " + prefix);
+        }
+        return digits.toString();
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
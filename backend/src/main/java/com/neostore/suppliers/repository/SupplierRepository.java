@@ -1,12 +1,17 @@
 // src/main/java/com/neostore/suppliers/repository/SupplierRepository.java
 package com.neostore.suppliers.repository;
 
+import com.neostore.suppliers.dto.SupplierDTO;
+import com.neostore.suppliers.dto.Versioned;
 import com.neostore.suppliers.model.Supplier;
+import com.neostore.suppliers.util.Cursor;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * Repositório de acesso a dados para a entidade Supplier.
+ * As listagens projetam direto em {@link SupplierDTO}, sem carregar entidades.
  */
 public interface SupplierRepository {
 
@@ -19,18 +24,54 @@ public interface SupplierRepository {
     Supplier save(Supplier supplier);
 
     /**
-     * Atualiza um fornecedor existente.
+     * Insere vários fornecedores em um único lote JDBC.
+     * Os IDs gerados não são atribuídos às entidades, apenas retornados.
+     * @param suppliers entidades a serem inseridas (lista vazia não faz nada)
+     * @return IDs gerados, na ordem das entidades
+     */
+    List<Long> saveAll(List<Supplier> suppliers);
+
+    /**
+     * Atualiza um fornecedor existente e sincroniza a alteração com o banco.
      * @param supplier entidade a ser atualizada (não pode ser null)
      * @return entidade atualizada
      * @throws IllegalArgumentException se supplier for null
+     * @throws jakarta.persistence.PersistenceException se violar uma restrição do banco
      */
     Supplier update(Supplier supplier);
 
     /**
-     * Remove um fornecedor pelo ID.
-     * @param id identificador do fornecedor (pode ser null, nesse caso não faz nada)
+     * Remove um fornecedor já carregado e sincroniza a remoção com o banco.
+     * @param supplier entidade gerenciada a ser removida
+     * @throws jakarta.persistence.OptimisticLockException se o registro foi alterado por outra transação
+     */
+    void delete(Supplier supplier);
+
+    /**
+     * Dentre os IDs informados, retorna os que existem.
+     * @param ids IDs a verificar
+     * @return IDs existentes, sem ordem definida
+     */
+    List<Long> findExistingIds(Collection<Long> ids);
+
+    /**
+     * Remove os fornecedores com um DELETE por bloco de IDs, sem carregá-los.
+     * Deve ser chamado antes de qualquer leitura de entidades na transação.
+     * @param ids IDs a remover
+     * @return quantidade de registros removidos
+     */
+    int deleteAllById(Collection<Long> ids);
+
+    /**
+     * Altera nome e/ou descrição dos fornecedores com um UPDATE por bloco de IDs,
+     * incrementando a versão de cada registro.
+     * Deve ser chamado antes de qualquer leitura de entidades na transação.
+     * @param ids         IDs a alterar
+     * @param name        novo nome, ou null para manter
+     * @param description nova descrição, ou null para manter
+     * @return quantidade de registros alterados
      */
-    void delete(Long id);
+    int updateAll(Collection<Long> ids, String name, String description);
 
     /**
      * Busca um fornecedor pelo ID.
@@ -40,26 +81,101 @@ public interface SupplierRepository {
     Optional<Supplier> findById(Long id);
 
     /**
-     * Busca um fornecedor pelo CNPJ.
-     * @param cnpj CNPJ do fornecedor
-     * @return Optional com o fornecedor, se encontrado
+     * Busca um fornecedor pelo ID apenas para leitura, sem cópia para verificação de alterações.
+     * @param id identificador do fornecedor
+     * @return Optional com o fornecedor e sua versão, se encontrado
      */
-    Optional<Supplier> findByCnpj(String cnpj);
+    Optional<Versioned<SupplierDTO>> findDtoById(Long id);
 
     /**
-     * Busca um fornecedor pelo e-mail.
-     * @param email e-mail do fornecedor
-     * @return Optional com o fornecedor, se encontrado
+     * Busca, em uma única consulta, os fornecedores cuja chave de CNPJ ou de e-mail
+     * pertença a um dos conjuntos informados.
+     * @param cnpjKeys chaves numéricas de CNPJ a procurar
+     * @param emailKeys e-mails normalizados a procurar
+     * @return fornecedores que colidem com alguma das chaves
      */
-    Optional<Supplier> findByEmail(String email);
+    List<Supplier> findByCnpjKeyInOrEmailKeyIn(Collection<Long> cnpjKeys, Collection<String> emailKeys);
+
+    /**
+     * Busca os fornecedores pelos IDs, com uma consulta IN por bloco.
+     * @param ids IDs a procurar
+     * @return fornecedores encontrados, sem ordem definida
+     */
+    List<SupplierDTO> findDtosByIds(Collection<Long> ids);
+
+    /**
+     * Busca os fornecedores pelas chaves numéricas de CNPJ, primeiro pelo cache de IDs
+     * naturais e, para as chaves ausentes dele, com uma consulta IN por bloco.
+     * @param cnpjKeys chaves a procurar (ver {@link com.neostore.suppliers.util.CnpjFormatter#toKey})
+     * @return fornecedores encontrados, sem ordem definida
+     */
+    List<SupplierDTO> findDtosByCnpjKeys(Collection<Long> cnpjKeys);
+
+    /**
+     * Busca os fornecedores pelos e-mails normalizados, com uma consulta IN por bloco.
+     * @param emailKeys e-mails normalizados a procurar
+     * @return fornecedores encontrados, sem ordem definida
+     */
+    List<SupplierDTO> findDtosByEmailKeys(Collection<String> emailKeys);
+
+    /**
+     * Lista, em ordem de ID, fornecedores gravados antes da existência das chaves
+     * de CNPJ, de e-mail, de nome ou do domínio do e-mail, exceto os já marcados como
+     * impossíveis de preencher.
+     * @param afterId último ID já visto (0 para começar do início)
+     * @param limit quantidade máxima de registros
+     * @return fornecedores sem alguma das chaves
+     */
+    List<Supplier> findWithoutNaturalKeys(long afterId, int limit);
+
+    /**
+     * Sincroniza as alterações pendentes e libera as entidades gerenciadas pela transação,
+     * para que lotes seguintes não as verifiquem de novo.
+     */
+    void flushAndClear();
 
     /**
      * Lista fornecedores com paginação.
+     * @param filter filtros a aplicar
+     * @param sort ordenação
      * @param page número da página (1-based)
-     * @param pageSize tamanho da página; se <= 0, retorna todos
+     * @param pageSize tamanho da página
      * @return lista de fornecedores
      */
-    List<Supplier> findAll(int page, int pageSize);
+    List<SupplierDTO> findAll(SupplierFilter filter, SupplierSort sort, int page, int pageSize);
+
+    /**
+     * Lista fornecedores com paginação e conta o total na mesma consulta.
+     * @param filter filtros a aplicar
+     * @param sort ordenação
+     * @param page número da página (1-based)
+     * @param pageSize tamanho da página
+     * @return página de fornecedores e total de registros que atendem aos filtros
+     */
+    PageResult<SupplierDTO> findPage(SupplierFilter filter, SupplierSort sort, int page, int pageSize);
+
+    /**
+     * Lista fornecedores por chave (keyset) na ordenação informada.
+     * @param filter filtros a aplicar
+     * @param sort ordenação; deve ser a mesma do cursor
+     * @param after posição do último registro entregue; se null, começa do início
+     * @param limit quantidade máxima de registros
+     * @return fornecedores posteriores a {@code after}
+     */
+    List<SupplierDTO> findAfter(SupplierFilter filter, SupplierSort sort, Cursor after, int limit);
+
+    /**
+     * Conta os fornecedores que atendem aos filtros.
+     * @param filter filtros a aplicar
+     * @return quantidade de registros
+     */
+    long count(SupplierFilter filter);
+
+    /**
+     * Atribui a versão inicial, 0, aos fornecedores gravados antes do controle de versão.
+     * @return quantidade de registros atualizados
+     */
+    int initializeVersions();
 
     /**
      * Conta o total de fornecedores cadastrados.
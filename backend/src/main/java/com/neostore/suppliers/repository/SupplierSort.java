@@ -0,0 +1,66 @@
+package com.neostore.suppliers.repository;
+
+import com.neostore.suppliers.dto.SupplierDTO;
+import com.neostore.suppliers.util.CnpjFormatter;
+import com.neostore.suppliers.util.EmailNormalizer;
+import com.neostore.suppliers.util.NameNormalizer;
+
+import java.util.Locale;
+
+/**
+ * Ordenações da listagem de fornecedores. Todas têm ordem total (o nome desempata pelo
+ * ID; e-mail e CNPJ são únicos), o que permite paginação por cursor em qualquer uma delas.
+ */
+public enum SupplierSort {
+
+    /** Ordem de cadastro. */
+    ID,
+
+    /** Nome normalizado (ver {@link NameNormalizer}). */
+    NAME,
+
+    /** E-mail normalizado (ver {@link EmailNormalizer}). */
+    EMAIL,
+
+    /**
+     * Chave numérica do CNPJ (ver {@link CnpjFormatter#toKey}). Cadastros antigos sem
+     * chave (CNPJ inválido) não aparecem nessa ordenação por cursor.
+     */
+    CNPJ;
+
+    /** Nome usado na query string e no cursor. */
+    public String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Valor da chave de ordenação no registro, gravado no cursor; null para {@link #ID}.
+     */
+    public String valueOf(SupplierDTO supplier) {
+        return switch (this) {
+            case ID -> null;
+            case NAME -> NameNormalizer.normalize(supplier.name());
+            case EMAIL -> EmailNormalizer.normalize(supplier.email());
+            case CNPJ -> {
+                Long key = CnpjFormatter.toKey(supplier.cnpj());
+                yield key == null ? null : key.toString();
+            }
+        };
+    }
+
+    /**
+     * @param key nome da ordenação; null ou em branco equivale a {@link #ID}
+     * @throws IllegalArgumentException se a ordenação não existir
+     */
+    public static SupplierSort fromKey(String key) {
+        if (key == null || key.isBlank()) {
+            return ID;
+        }
+        for (SupplierSort sort : values()) {
+            if (sort.key().equals(key.strip().toLowerCase(Locale.ROOT))) {
+                return sort;
+            }
+        }
+        throw new IllegalArgumentException("Ordenação inválida: " + key + " (use id, name, email ou cnpj)");
+    }
+}
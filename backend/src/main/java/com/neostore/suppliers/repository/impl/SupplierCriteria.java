@@ -0,0 +1,106 @@
+package com.neostore.suppliers.repository.impl;
+
+import com.neostore.suppliers.repository.SupplierFilter;
+import com.neostore.suppliers.repository.SupplierSort;
+import com.neostore.suppliers.util.Cursor;
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cláusulas WHERE e ORDER BY da listagem de fornecedores, sobre o alias {@code s}.
+ * Cada filtro e ordenação é escrito na forma que o índice correspondente de
+ * {@link com.neostore.suppliers.model.Supplier} atende:
+ * <ul>
+ *   <li>prefixo de nome: {@code LIKE 'x%'} sobre {@code name_key};</li>
+ *   <li>domínio: igualdade sobre {@code email_domain};</li>
+ *   <li>prefixo de CNPJ: intervalo sobre a chave numérica {@code cnpj_key};</li>
+ *   <li>ordenações: as colunas do índice; e-mail e CNPJ são únicos e dispensam o desempate pelo ID;</li>
+ *   <li>cursor: comparação de tupla com as mesmas colunas da ordenação.</li>
+ * </ul>
+ * Um único índice atende filtro e ordenação juntos só nas combinações aceitas por
+ * {@link SupplierFilter#isIndexedWith}; o serviço recusa as demais. O trecho da descrição não
+ * tem índice B-tree possível ({@code LIKE '%x%'}) e só restringe as linhas já selecionadas
+ * pelos demais critérios.
+ */
+record SupplierCriteria(String where, String orderBy, Map<String, Object> parameters) {
+
+    private static final char LIKE_ESCAPE = '!';
+    private static final int CNPJ_DIGITS = 14;
+
+    static SupplierCriteria of(SupplierFilter filter, SupplierSort sort, Cursor after) {
+        List<String> predicates = new ArrayList<>();
+        Map<String, Object> parameters = new LinkedHashMap<>();
+
+        if (filter.namePrefix() != null) {
+            predicates.add("s.nameKey LIKE :namePrefix ESCAPE '" + LIKE_ESCAPE + "'");
+            parameters.put("namePrefix", escapeLike(filter.namePrefix()) + "%");
+        }
+        if (filter.emailDomain() != null) {
+            predicates.add("s.emailDomain = :emailDomain");
+            parameters.put("emailDomain", filter.emailDomain());
+        }
+        if (filter.cnpjPrefix() != null) {
+            // "123" equivale às chaves de 12300000000000 a 12399999999999
+            long scale = (long) Math.pow(10, CNPJ_DIGITS - filter.cnpjPrefix().length());
+            long prefix = Long.parseLong(filter.cnpjPrefix());
+            predicates.add("s.cnpjKey >= :cnpjFrom AND s.cnpjKey < :cnpjTo");
+            parameters.put("cnpjFrom", prefix * scale);
+            parameters.put("cnpjTo", (prefix + 1) * scale);
+        }
+        if (filter.description() != null) {
+            predicates.add("lower(s.description) LIKE :description ESCAPE '" + LIKE_ESCAPE + "'");
+            parameters.put("description", "%" + escapeLike(filter.description()) + "%");
+        }
+        if (after != null) {
+            switch (sort) {
+                case ID -> {
+                    predicates.add("s.id > :afterId");
+                    parameters.put("afterId", after.id());
+                }
+                case NAME -> {
+                    predicates.add("(s.nameKey, s.id) > (:afterValue, :afterId)");
+                    parameters.put("afterValue", after.value());
+                    parameters.put("afterId", after.id());
+                }
+                case EMAIL -> {
+                    predicates.add("s.emailKey > :afterValue");
+                    parameters.put("afterValue", after.value());
+                }
+                case CNPJ -> {
+                    predicates.add("s.cnpjKey > :afterValue");
+                    parameters.put("afterValue", Long.parseLong(after.value()));
+                }
+            }
+        }
+
+        String where = predicates.isEmpty() ? "" : " WHERE " + String.join(" AND ", predicates);
+        String orderBy = switch (sort) {
+            case ID -> " ORDER BY s.id";
+            case NAME -> " ORDER BY s.nameKey, s.id";
+            case EMAIL -> " ORDER BY s.emailKey";
+            case CNPJ -> " ORDER BY s.cnpjKey";
+        };
+        return new SupplierCriteria(where, orderBy, parameters);
+    }
+
+    <T> TypedQuery<T> bind(TypedQuery<T> query) {
+        parameters.forEach(query::setParameter);
+        return query;
+    }
+
+    private static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 4);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
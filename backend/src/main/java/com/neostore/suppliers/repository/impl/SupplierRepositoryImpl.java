@@ -1,43 +1,173 @@
 package com.neostore.suppliers.repository.impl;
 
+import com.neostore.suppliers.dto.SupplierDTO;
+import com.neostore.suppliers.dto.Versioned;
+import com.neostore.suppliers.jfr.Recorded;
+import com.neostore.suppliers.mapper.SupplierMapper;
+import com.neostore.suppliers.metrics.Timed;
 import com.neostore.suppliers.model.Supplier;
+import com.neostore.suppliers.repository.PageResult;
+import com.neostore.suppliers.repository.SupplierFilter;
 import com.neostore.suppliers.repository.SupplierRepository;
+import com.neostore.suppliers.repository.SupplierSort;
+import com.neostore.suppliers.util.Cursor;
+import com.neostore.suppliers.util.EmailNormalizer;
+import com.neostore.suppliers.util.NameNormalizer;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.persistence.EntityManager;
-import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.FlushModeType;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.TypedQuery;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.NaturalIdResolutions;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.persister.entity.EntityPersister;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Implementação JPA do repositório de fornecedores.
  */
 @ApplicationScoped
+@Timed
+@Recorded
 public class SupplierRepositoryImpl implements SupplierRepository {
 
+    private static final String INSERT_SQL =
+            "INSERT INTO suppliers (name, name_key, email, email_key, email_hash, email_domain, description, cnpj, cnpj_key, version)"
+                    + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private static final String DTO_SELECT =
+            "SELECT new com.neostore.suppliers.dto.SupplierDTO(s.id, s.name, s.email, s.description, s.cnpj)"
+                    + " FROM Supplier s";
+
+    /** Máximo de valores por lista IN em operações e consultas em lote. */
+    private static final int IN_CHUNK_SIZE = 1000;
+
     @PersistenceContext
     private EntityManager em;
 
     @Override
     public Supplier save(Supplier supplier) {
+        // Com IDENTITY o INSERT é executado no persist; violações surgem aqui
         em.persist(supplier);
         return supplier;
     }
 
+    /**
+     * Com IDs do tipo IDENTITY o Hibernate desativa o batching de INSERTs,
+     * por isso o lote é enviado diretamente pela conexão da transação corrente.
+     */
+    @Override
+    public List<Long> saveAll(List<Supplier> suppliers) {
+        if (suppliers == null || suppliers.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = em.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL, new String[] {"id"})) {
+                for (Supplier supplier : suppliers) {
+                    ps.setString(1, supplier.getName());
+                    ps.setString(2, supplier.getNameKey());
+                    ps.setString(3, supplier.getEmail());
+                    ps.setString(4, supplier.getEmailKey());
+                    ps.setLong(5, supplier.getEmailHash());
+                    ps.setString(6, supplier.getEmailDomain());
+                    ps.setString(7, supplier.getDescription());
+                    ps.setString(8, supplier.getCnpj());
+                    ps.setLong(9, supplier.getCnpjKey());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                List<Long> generated = new ArrayList<>(suppliers.size());
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        generated.add(keys.getLong(1));
+                    }
+                }
+                return generated;
+            }
+        });
+        return ids;
+    }
+
     @Override
     public Supplier update(Supplier supplier) {
-        return em.merge(supplier);
+        Supplier merged = em.merge(supplier);
+        // Sincroniza já, para que violações de unicidade surjam aqui e não no commit
+        em.flush();
+        return merged;
+    }
+
+    @Override
+    public void delete(Supplier supplier) {
+        em.remove(supplier);
+        em.flush();
     }
 
     @Override
-    public void delete(Long id) {
-        Supplier entity = em.find(Supplier.class, id);
-        if (entity == null) {
-            throw new EntityNotFoundException("Supplier não encontrado: " + id);
+    public List<Long> findExistingIds(Collection<Long> ids) {
+        List<Long> existing = new ArrayList<>(ids.size());
+        for (List<Long> chunk : chunks(ids)) {
+            existing.addAll(em.createQuery("SELECT s.id FROM Supplier s WHERE s.id IN :ids", Long.class)
+                    .setParameter("ids", chunk)
+                    .getResultList());
         }
-        em.remove(entity);
+        return existing;
+    }
+
+    /**
+     * O Hibernate invalida a região do cache de segundo nível da tabela ao executar
+     * o DELETE em massa.
+     */
+    @Override
+    public int deleteAllById(Collection<Long> ids) {
+        int deleted = 0;
+        for (List<Long> chunk : chunks(ids)) {
+            deleted += em.createQuery("DELETE FROM Supplier s WHERE s.id IN :ids")
+                    .setParameter("ids", chunk)
+                    .executeUpdate();
+        }
+        return deleted;
+    }
+
+    /**
+     * {@code UPDATE VERSIONED} incrementa a versão, mantendo ETags e o bloqueio
+     * otimista coerentes; o cache é invalidado como em {@link #deleteAllById}.
+     */
+    @Override
+    public int updateAll(Collection<Long> ids, String name, String description) {
+        StringBuilder jpql = new StringBuilder("UPDATE VERSIONED Supplier s SET ");
+        if (name != null) {
+            jpql.append("s.name = :name, s.nameKey = :nameKey");
+        }
+        if (description != null) {
+            jpql.append(name != null ? ", " : "").append("s.description = :description");
+        }
+        jpql.append(" WHERE s.id IN :ids");
+
+        int updated = 0;
+        for (List<Long> chunk : chunks(ids)) {
+            var query = em.createQuery(jpql.toString()).setParameter("ids", chunk);
+            if (name != null) {
+                query.setParameter("name", name);
+                query.setParameter("nameKey", NameNormalizer.normalize(name));
+            }
+            if (description != null) {
+                query.setParameter("description", description);
+            }
+            updated += query.executeUpdate();
+        }
+        return updated;
     }
 
     @Override
@@ -45,44 +175,216 @@ public class SupplierRepositoryImpl implements SupplierRepository {
         return Optional.ofNullable(em.find(Supplier.class, id));
     }
 
+    /**
+     * Carrega pelo cache de segundo nível, que evita ir ao banco; em modo somente
+     * leitura a sessão não guarda o estado original para a verificação de alterações.
+     */
     @Override
-    public Optional<Supplier> findByCnpj(String cnpj) {
-        if (cnpj == null || cnpj.isBlank()) {
+    public Optional<Versioned<SupplierDTO>> findDtoById(Long id) {
+        if (id == null) {
             return Optional.empty();
         }
-        TypedQuery<Supplier> query = em.createQuery(
-                "SELECT s FROM Supplier s WHERE s.cnpj = :cnpj", Supplier.class
-        );
-        query.setParameter("cnpj", cnpj);
-        return query.getResultStream().findFirst();
+        Supplier entity = em.unwrap(Session.class)
+                .byId(Supplier.class)
+                .withReadOnly(true)
+                .load(id);
+        return Optional.ofNullable(entity)
+                .map(found -> Versioned.of(SupplierMapper.toDTO(found), found.getVersion()));
     }
 
     @Override
-    public Optional<Supplier> findByEmail(String email) {
-        if (email == null || email.isBlank()) {
-            return Optional.empty();
+    public List<Supplier> findByCnpjKeyInOrEmailKeyIn(Collection<Long> cnpjKeys, Collection<String> emailKeys) {
+        if (cnpjKeys.isEmpty() && emailKeys.isEmpty()) {
+            return List.of();
+        }
+        return em.createQuery(
+                        "SELECT s FROM Supplier s WHERE s.cnpjKey IN :cnpjKeys OR s.emailKey IN :emailKeys",
+                        Supplier.class)
+                .setParameter("cnpjKeys", cnpjKeys.isEmpty() ? List.of(-1L) : cnpjKeys)
+                .setParameter("emailKeys", emailKeys.isEmpty() ? List.of("") : emailKeys)
+                .getResultList();
+    }
+
+    @Override
+    public List<SupplierDTO> findDtosByIds(Collection<Long> ids) {
+        List<SupplierDTO> found = new ArrayList<>(ids.size());
+        for (List<Long> chunk : chunks(ids)) {
+            found.addAll(readOnly(em.createQuery(DTO_SELECT + " WHERE s.id IN :ids", SupplierDTO.class))
+                    .setParameter("ids", chunk)
+                    .getResultList());
+        }
+        return found;
+    }
+
+    /**
+     * Resolve as chaves pelo cache de IDs naturais e carrega as entidades pelo cache de
+     * segundo nível. Só as chaves ausentes dos caches vão ao banco, com uma consulta IN
+     * por bloco; as entidades lidas ali alimentam os dois caches para as próximas buscas.
+     */
+    @Override
+    public List<SupplierDTO> findDtosByCnpjKeys(Collection<Long> cnpjKeys) {
+        SessionImplementor session = em.unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(Supplier.class);
+        NaturalIdResolutions resolutions = session.getPersistenceContextInternal().getNaturalIdResolutions();
+
+        Map<Long, Long> keysById = new HashMap<>();
+        Set<Long> missing = new HashSet<>();
+        for (Long key : cnpjKeys) {
+            if (resolutions.findCachedIdByNaturalId(key, persister) instanceof Long id) {
+                keysById.put(id, key);
+            } else {
+                missing.add(key);
+            }
+        }
+
+        List<SupplierDTO> found = new ArrayList<>(cnpjKeys.size());
+        if (!keysById.isEmpty()) {
+            List<Supplier> cached = session.byMultipleIds(Supplier.class)
+                    .enableOrderedReturn(false)
+                    .multiLoad(new ArrayList<>(keysById.keySet()));
+            for (Supplier supplier : cached) {
+                if (supplier == null) {
+                    continue;
+                }
+                session.setReadOnly(supplier, true);
+                // Resolução antiga (registro removido ou com outro CNPJ) volta a ir ao banco
+                if (supplier.getCnpjKey() != null && supplier.getCnpjKey().equals(keysById.remove(supplier.getId()))) {
+                    found.add(SupplierMapper.toDTO(supplier));
+                }
+            }
+            missing.addAll(keysById.values());
+        }
+        for (List<Long> chunk : chunks(missing)) {
+            readOnly(em.createQuery("SELECT s FROM Supplier s WHERE s.cnpjKey IN :keys", Supplier.class))
+                    .setParameter("keys", chunk)
+                    .getResultList()
+                    .forEach(supplier -> found.add(SupplierMapper.toDTO(supplier)));
+        }
+        return found;
+    }
+
+    /**
+     * O hash de largura fixa seleciona pelo índice; a chave elimina colisões. Sem cache:
+     * o ID natural da entidade é o CNPJ.
+     */
+    @Override
+    public List<SupplierDTO> findDtosByEmailKeys(Collection<String> emailKeys) {
+        List<SupplierDTO> found = new ArrayList<>(emailKeys.size());
+        for (List<String> chunk : chunks(emailKeys)) {
+            List<Long> hashes = chunk.stream().map(EmailNormalizer::hash).toList();
+            found.addAll(readOnly(em.createQuery(
+                            DTO_SELECT + " WHERE s.emailHash IN :hashes AND s.emailKey IN :keys", SupplierDTO.class))
+                    .setParameter("hashes", hashes)
+                    .setParameter("keys", chunk)
+                    .getResultList());
         }
-        TypedQuery<Supplier> query = em.createQuery(
-                "SELECT s FROM Supplier s WHERE s.email = :email", Supplier.class
-        );
-        query.setParameter("email", email);
-        return query.getResultStream().findFirst();
+        return found;
+    }
+
+    @Override
+    public List<Supplier> findWithoutNaturalKeys(long afterId, int limit) {
+        return em.createQuery(
+                        "SELECT s FROM Supplier s WHERE (s.cnpjKey IS NULL OR s.emailKey IS NULL"
+                                + " OR s.nameKey IS NULL OR s.emailDomain IS NULL)"
+                                + " AND s.naturalKeysSkipped IS NULL"
+                                + " AND s.id > :afterId ORDER BY s.id",
+                        Supplier.class)
+                .setParameter("afterId", afterId)
+                .setMaxResults(Math.max(1, limit))
+                .getResultList();
     }
 
     @Override
-    public List<Supplier> findAll(int page, int pageSize) {
+    public void flushAndClear() {
+        em.flush();
+        em.clear();
+    }
+
+    @Override
+    public List<SupplierDTO> findAll(SupplierFilter filter, SupplierSort sort, int page, int pageSize) {
         int safePage = Math.max(1, page);
         int safePageSize = Math.max(1, pageSize);
 
-        return em.createQuery("SELECT s FROM Supplier s ORDER BY s.id", Supplier.class)
+        SupplierCriteria criteria = SupplierCriteria.of(filter, sort, null);
+        return readOnly(criteria.bind(em.createQuery(DTO_SELECT + criteria.where() + criteria.orderBy(), SupplierDTO.class)))
                 .setFirstResult((safePage - 1) * safePageSize)
                 .setMaxResults(safePageSize)
                 .getResultList();
     }
 
+    /**
+     * O total vem de {@code count(*) over()} em cada linha, evitando um segundo COUNT.
+     * Só quando a página está além do fim (nenhuma linha) o total é contado à parte.
+     */
+    @Override
+    public PageResult<SupplierDTO> findPage(SupplierFilter filter, SupplierSort sort, int page, int pageSize) {
+        int safePage = Math.max(1, page);
+        int safePageSize = Math.max(1, pageSize);
+
+        SupplierCriteria criteria = SupplierCriteria.of(filter, sort, null);
+        List<Object[]> rows = readOnly(criteria.bind(em.createQuery(
+                        "SELECT s.id, s.name, s.email, s.description, s.cnpj, count(*) over()"
+                                + " FROM Supplier s" + criteria.where() + criteria.orderBy(), Object[].class)))
+                .setFirstResult((safePage - 1) * safePageSize)
+                .setMaxResults(safePageSize)
+                .getResultList();
+        if (rows.isEmpty()) {
+            return new PageResult<>(List.of(), safePage == 1 ? 0 : count(filter));
+        }
+        List<SupplierDTO> content = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            content.add(new SupplierDTO((Long) row[0], (String) row[1], (String) row[2], (String) row[3], (String) row[4]));
+        }
+        return new PageResult<>(content, ((Number) rows.get(0)[5]).longValue());
+    }
+
+    @Override
+    public List<SupplierDTO> findAfter(SupplierFilter filter, SupplierSort sort, Cursor after, int limit) {
+        SupplierCriteria criteria = SupplierCriteria.of(filter, sort, after);
+        return readOnly(criteria.bind(em.createQuery(DTO_SELECT + criteria.where() + criteria.orderBy(), SupplierDTO.class)))
+                .setMaxResults(Math.max(1, limit))
+                .getResultList();
+    }
+
+    @Override
+    public long count(SupplierFilter filter) {
+        if (filter.isEmpty()) {
+            return count();
+        }
+        SupplierCriteria criteria = SupplierCriteria.of(filter, SupplierSort.ID, null);
+        return readOnly(criteria.bind(em.createQuery("SELECT count(s) FROM Supplier s" + criteria.where(), Long.class)))
+                .getSingleResult();
+    }
+
+    @Override
+    public int initializeVersions() {
+        return em.createQuery("UPDATE Supplier s SET s.version = 0 WHERE s.version IS NULL")
+                .executeUpdate();
+    }
+
     @Override
     public long count() {
         return em.createQuery("SELECT COUNT(s) FROM Supplier s", Long.class)
                 .getSingleResult();
     }
+
+    /** Divide os valores em blocos de até {@code IN_CHUNK_SIZE}, limite seguro para listas IN. */
+    private static <T> List<List<T>> chunks(Collection<T> values) {
+        List<T> all = values instanceof List<T> list ? list : new ArrayList<>(values);
+        List<List<T>> chunks = new ArrayList<>((all.size() + IN_CHUNK_SIZE - 1) / IN_CHUNK_SIZE);
+        for (int from = 0; from < all.size(); from += IN_CHUNK_SIZE) {
+            chunks.add(all.subList(from, Math.min(all.size(), from + IN_CHUNK_SIZE)));
+        }
+        return chunks;
+    }
+
+    /**
+     * Consultas de leitura: nada é gerenciado para alteração e a sessão
+     * não precisa sincronizar pendências antes de executá-las.
+     */
+    private static <T> TypedQuery<T> readOnly(TypedQuery<T> query) {
+        return query
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setFlushMode(FlushModeType.COMMIT);
+    }
 }
@@ -0,0 +1,246 @@
+package com.neostore.suppliers.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Índice invertido em memória com ranqueamento BM25. Cada termo guarda suas ocorrências
+ * em arrays ordenados por posição de documento, com a frequência do termo (ver
+ * {@link PostingsIndex}); a busca intersecta as listas dos termos da consulta a partir da
+ * mais curta, mantendo só os melhores {@code offset + limit} resultados em um heap.
+ * Seguro para uso concorrente.
+ */
+public final class InvertedIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    /** Frequências e tamanhos com o peso BM25 pré-calculado a cada busca (os casos comuns). */
+    private static final int TABLE_FREQUENCIES = 8;
+    private static final int TABLE_LENGTHS = 128;
+
+    /** Melhor primeiro; no empate, o menor ID. */
+    private static final Comparator<Hit> RANKING =
+            Comparator.comparingDouble(Hit::score).reversed().thenComparingLong(Hit::id);
+
+    private final PostingsIndex<String> index = new PostingsIndex<>(true);
+
+    /**
+     * Documento encontrado e sua relevância.
+     */
+    public record Hit(long id, double score) {}
+
+    /**
+     * Uma página de resultados, do mais relevante ao menos, e o total de documentos
+     * que contêm todos os termos da consulta.
+     */
+    public record Page(List<Hit> hits, int total) {}
+
+    /**
+     * Indexa o documento, substituindo a versão anterior com o mesmo ID.
+     * @param terms termos do documento, com repetições
+     */
+    public void put(long id, List<String> terms) {
+        apply(Map.of(id, terms), List.of());
+    }
+
+    public void remove(long id) {
+        apply(Map.of(), List.of(id));
+    }
+
+    /**
+     * Aplica de uma vez as alterações de uma gravação (ver {@link PostingsIndex#apply}).
+     * @param saved   termos de cada documento novo ou alterado, com repetições
+     * @param deleted IDs removidos
+     */
+    public void apply(Map<Long, List<String>> saved, Collection<Long> deleted) {
+        Map<Long, PostingsIndex.Document<String>> documents = new HashMap<>();
+        saved.forEach((id, terms) -> documents.put(id, document(terms)));
+        index.apply(documents, deleted);
+    }
+
+    public void clear() {
+        index.clear();
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Documentos que contêm todos os termos, ordenados por BM25: quem os contém mais vezes,
+     * em um texto mais curto, ou contém os termos mais raros, vem antes.
+     * @param terms termos da consulta (repetições são ignoradas)
+     */
+    public Page search(List<String> terms, int offset, int limit) {
+        int wanted = Math.max(0, offset) + Math.max(0, limit);
+        return index.read(() -> {
+            Set<String> unique = new LinkedHashSet<>(terms);
+            PostingsIndex.Postings[] lists = new PostingsIndex.Postings[unique.size()];
+            int count = 0;
+            for (String term : unique) {
+                PostingsIndex.Postings list = index.postings(term);
+                if (list == null) {
+                    return new Page(List.of(), 0);
+                }
+                lists[count++] = list;
+            }
+            if (count == 0) {
+                return new Page(List.of(), 0);
+            }
+            // A lista mais curta conduz a interseção; as demais só são consultadas por busca
+            Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+
+            int n = index.documentCount();
+            double averageLength = (double) index.totalLength() / n;
+            double[] idf = new double[count];
+            for (int t = 0; t < count; t++) {
+                int df = lists[t].size;
+                idf[t] = Math.log(1 + (n - df + 0.5) / (df + 0.5));
+            }
+            // Evita as divisões por ocorrência: o peso só depende da frequência e do tamanho
+            double[] table = new double[TABLE_FREQUENCIES * TABLE_LENGTHS];
+            for (int tf = 1; tf < TABLE_FREQUENCIES; tf++) {
+                for (int length = 0; length < TABLE_LENGTHS; length++) {
+                    table[tf * TABLE_LENGTHS + length] = weight(tf, length, averageLength);
+                }
+            }
+
+            Matches matches = Matches.of(lists[0], count);
+            for (int t = 1; t < count && matches.size > 0; t++) {
+                matches.retain(lists[t], t);
+            }
+            if (wanted == 0) {
+                return new Page(List.of(), matches.size);
+            }
+
+            // Heap com o pior dos melhores no topo
+            PriorityQueue<Hit> best = new PriorityQueue<>(wanted + 1, RANKING.reversed());
+            for (int m = 0; m < matches.size; m++) {
+                int slot = matches.slots[m];
+                int length = index.length(slot);
+                double score = 0;
+                for (int t = 0; t < count; t++) {
+                    int tf = lists[t].values[matches.positions[t][m]];
+                    score += idf[t] * (tf < TABLE_FREQUENCIES && length < TABLE_LENGTHS
+                            ? table[tf * TABLE_LENGTHS + length]
+                            : weight(tf, length, averageLength));
+                }
+                if (best.size() < wanted) {
+                    best.add(new Hit(index.id(slot), score));
+                } else if (score >= best.peek().score()) {
+                    // Em ordem de posição, não de ID: o empate com o pior decide pelo menor ID
+                    Hit hit = new Hit(index.id(slot), score);
+                    if (RANKING.compare(hit, best.peek()) < 0) {
+                        best.poll();
+                        best.add(hit);
+                    }
+                }
+            }
+
+            List<Hit> ranked = new ArrayList<>(best);
+            ranked.sort(RANKING);
+            List<Hit> page = offset >= ranked.size() ? List.of() : ranked.subList(Math.max(0, offset), ranked.size());
+            return new Page(List.copyOf(page), matches.size);
+        });
+    }
+
+    /**
+     * Parte do BM25 de um termo que não depende da consulta: cresce com a frequência,
+     * com retorno decrescente, e cai com o tamanho do documento.
+     */
+    private static double weight(int tf, int length, double averageLength) {
+        double norm = K1 * (1 - B + B * length / averageLength);
+        return tf * (K1 + 1) / (tf + norm);
+    }
+
+    /** Termos distintos com sua frequência; o tamanho é o total de termos. */
+    private static PostingsIndex.Document<String> document(List<String> terms) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : terms) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        List<String> keys = new ArrayList<>(frequencies.keySet());
+        int[] values = new int[keys.size()];
+        for (int k = 0; k < values.length; k++) {
+            values[k] = frequencies.get(keys.get(k));
+        }
+        return new PostingsIndex.Document<>(keys, values, terms.size());
+    }
+
+    /**
+     * Documentos que contêm todos os termos vistos até aqui, em ordem de posição, e a posição de
+     * cada um na lista de cada termo. A interseção avança uma lista por vez sobre os
+     * candidatos restantes: por busca, se os candidatos forem poucos perto da lista, ou
+     * percorrendo as duas em paralelo, sem desvios imprevisíveis, se forem comparáveis.
+     */
+    private static final class Matches {
+
+        final int[] slots;
+        final int[][] positions;
+        int size;
+
+        private Matches(int[] slots, int[][] positions, int size) {
+            this.slots = slots;
+            this.positions = positions;
+            this.size = size;
+        }
+
+        /** Todos os documentos da lista mais curta, primeira da consulta. */
+        static Matches of(PostingsIndex.Postings lead, int terms) {
+            int[] positions = new int[lead.size];
+            for (int p = 0; p < lead.size; p++) {
+                positions[p] = p;
+            }
+            int[][] all = new int[terms][];
+            all[0] = positions;
+            return new Matches(Arrays.copyOf(lead.slots, lead.size), all, lead.size);
+        }
+
+        /** Mantém só os candidatos que a lista do termo {@code t} também contém. */
+        void retain(PostingsIndex.Postings list, int t) {
+            int[] found = new int[size];
+            int kept = 0;
+            if ((long) size * 16 < list.size) {
+                int at = 0;
+                for (int m = 0; m < size && at < list.size; m++) {
+                    at = list.seek(slots[m], at);
+                    if (at < list.size && list.slots[at] == slots[m]) {
+                        found[kept] = at;
+                        keep(m, kept++, t);
+                    }
+                }
+            } else {
+                int m = 0;
+                int at = 0;
+                while (m < size && at < list.size) {
+                    int candidate = slots[m];
+                    int slot = list.slots[at];
+                    if (candidate == slot) {
+                        found[kept] = at;
+                        keep(m, kept++, t);
+                    }
+                    m += candidate <= slot ? 1 : 0;
+                    at += slot <= candidate ? 1 : 0;
+                }
+            }
+            positions[t] = found;
+            size = kept;
+        }
+
+        private void keep(int from, int to, int terms) {
+            slots[to] = slots[from];
+            for (int t = 0; t < terms; t++) {
+                positions[t][to] = positions[t][from];
+            }
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.neostore.suppliers.search;
+
+import com.neostore.suppliers.util.NameNormalizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Índice de nomes para autocompletar: arrays paralelos de chaves normalizadas
+ * (ver {@link NameNormalizer}), IDs e nomes, ordenados pela chave. A busca por prefixo é
+ * uma busca binária seguida da leitura das posições vizinhas.
+ * <p>
+ * Leituras não bloqueiam: usam o retrato corrente, imutável. Cada alteração localiza as
+ * remoções (varredura dos IDs) e as inclusões (busca binária), monta um novo retrato
+ * copiando em blocos os trechos entre elas e o publica; por isso alterações em lote devem
+ * ser aplicadas juntas. Ocupa, além das strings,
+ * 16 bytes por nome em referências e IDs.
+ */
+public final class NamePrefixIndex {
+
+    /** Fornecedor sugerido. */
+    public record Entry(long id, String name) {}
+
+    private record Row(String key, long id, String name) {}
+
+    private static final Comparator<Row> ORDER =
+            Comparator.comparing(Row::key).thenComparingLong(Row::id);
+
+    private record Snapshot(String[] keys, long[] ids, String[] names) {}
+
+    private volatile Snapshot snapshot = new Snapshot(new String[0], new long[0], new String[0]);
+
+    /**
+     * Substitui todo o conteúdo do índice.
+     */
+    public synchronized void load(Collection<Entry> entries) {
+        List<Row> rows = rows(entries);
+        int n = rows.size();
+        String[] keys = new String[n];
+        long[] ids = new long[n];
+        String[] names = new String[n];
+        for (int i = 0; i < n; i++) {
+            Row row = rows.get(i);
+            keys[i] = row.key();
+            ids[i] = row.id();
+            names[i] = row.name();
+        }
+        snapshot = new Snapshot(keys, ids, names);
+    }
+
+    /**
+     * Inclui ou substitui os fornecedores salvos e retira os removidos, publicando
+     * o resultado de uma só vez.
+     */
+    public synchronized void apply(Collection<Entry> saved, Collection<Long> deleted) {
+        if (saved.isEmpty() && deleted.isEmpty()) {
+            return;
+        }
+        long[] removed = new long[saved.size() + deleted.size()];
+        int count = 0;
+        for (Entry entry : saved) {
+            removed[count++] = entry.id();
+        }
+        for (Long id : deleted) {
+            removed[count++] = id;
+        }
+        Arrays.sort(removed);
+
+        Snapshot current = snapshot;
+        long[] currentIds = current.ids();
+        int[] removals = new int[removed.length];
+        int removalCount = 0;
+        for (int i = 0; i < currentIds.length && removalCount < removed.length; i++) {
+            if (Arrays.binarySearch(removed, currentIds[i]) >= 0) {
+                removals[removalCount++] = i;
+            }
+        }
+        List<Row> added = rows(saved);
+        int[] insertions = new int[added.size()];
+        for (int a = 0; a < insertions.length; a++) {
+            insertions[a] = insertionPoint(current, added.get(a));
+        }
+
+        // Copia em blocos os trechos entre uma remoção ou inclusão e a seguinte
+        int capacity = currentIds.length - removalCount + added.size();
+        Snapshot next = new Snapshot(new String[capacity], new long[capacity], new String[capacity]);
+        int source = 0;
+        int out = 0;
+        int r = 0;
+        int a = 0;
+        while (r < removalCount || a < insertions.length) {
+            int position = Math.min(r < removalCount ? removals[r] : Integer.MAX_VALUE,
+                    a < insertions.length ? insertions[a] : Integer.MAX_VALUE);
+            out = copy(current, source, next, out, position - source);
+            source = position;
+            if (a < insertions.length && insertions[a] == position) {
+                Row row = added.get(a++);
+                next.keys()[out] = row.key();
+                next.ids()[out] = row.id();
+                next.names()[out++] = row.name();
+            } else {
+                source++;
+                r++;
+            }
+        }
+        copy(current, source, next, out, currentIds.length - source);
+        snapshot = next;
+    }
+
+    /**
+     * Fornecedores cujo nome normalizado começa com o prefixo normalizado, em ordem
+     * alfabética; prefixo vazio não encontra nada.
+     */
+    public List<Entry> find(String prefix, int limit) {
+        String key = NameNormalizer.normalize(prefix);
+        if (key == null || key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Snapshot current = snapshot;
+        String[] keys = current.keys();
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        List<Entry> found = new ArrayList<>(Math.min(limit, 16));
+        for (int i = low; i < keys.length && found.size() < limit && keys[i].startsWith(key); i++) {
+            found.add(new Entry(current.ids()[i], current.names()[i]));
+        }
+        return found;
+    }
+
+    public int size() {
+        return snapshot.ids().length;
+    }
+
+    private static List<Row> rows(Collection<Entry> entries) {
+        List<Row> rows = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            String key = NameNormalizer.normalize(entry.name());
+            // Nome já normalizado: a chave reaproveita a mesma string
+            rows.add(new Row(key == null ? "" : key.equals(entry.name()) ? entry.name() : key,
+                    entry.id(), entry.name()));
+        }
+        rows.sort(ORDER);
+        return rows;
+    }
+
+    /** Posição do primeiro registro do retrato que vem depois da linha na ordem (chave, ID). */
+    private static int insertionPoint(Snapshot snapshot, Row row) {
+        int low = 0;
+        int high = snapshot.ids().length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int byKey = snapshot.keys()[mid].compareTo(row.key());
+            if (byKey < 0 || byKey == 0 && snapshot.ids()[mid] < row.id()) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int copy(Snapshot from, int source, Snapshot to, int target, int length) {
+        System.arraycopy(from.keys(), source, to.keys(), target, length);
+        System.arraycopy(from.ids(), source, to.ids(), target, length);
+        System.arraycopy(from.names(), source, to.names(), target, length);
+        return target + length;
+    }
+}
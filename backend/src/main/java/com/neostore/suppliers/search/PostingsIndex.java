@@ -0,0 +1,426 @@
+package com.neostore.suppliers.search;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Listas de ocorrências em memória, base de {@link InvertedIndex} e {@link TrigramIndex}.
+ * Cada documento ocupa uma posição ({@code slot}) e cada chave (termo ou trigrama) um
+ * número; a lista de uma chave guarda as posições dos documentos que a contêm, em ordem
+ * crescente, e opcionalmente um valor por ocorrência (a frequência do termo). Posições e
+ * números liberados são reaproveitados, mas só na alteração seguinte, quando nenhuma lista
+ * visível os contém mais.
+ * <p>
+ * As alterações de uma gravação são aplicadas de uma vez (ver {@link #apply}) e feitas uma
+ * por vez; as buscas leem dentro de {@link #read}, em paralelo, e só esperam enquanto uma
+ * alteração troca as listas já refeitas.
+ *
+ * @param <K> tipo da chave
+ */
+final class PostingsIndex<K> {
+
+    /**
+     * Até quantas alterações uma lista é editada no próprio array, com o bloqueio exclusivo:
+     * deslocar o array algumas vezes custa menos que copiá-lo para um novo.
+     */
+    private static final int IN_PLACE_CHANGES = 4;
+
+    /**
+     * Documento a indexar.
+     * @param keys   chaves distintas
+     * @param values valor de cada chave, na mesma posição (null se o índice não guarda valores)
+     * @param length tamanho do documento
+     */
+    record Document<K>(List<K> keys, int[] values, int length) {}
+
+    private final boolean withValues;
+
+    private final Map<K, Integer> numbers = new HashMap<>();
+    private Object[] keys = new Object[16];
+    private Postings[] lists = new Postings[16];
+    private final Numbers keyNumbers = new Numbers();
+
+    private final Map<Long, Integer> slots = new HashMap<>();
+    private long[] ids = new long[16];
+    private int[][] documentKeys = new int[16][];
+    private int[] lengths = new int[16];
+    private int slotCount;
+    private long totalLength;
+    private final Numbers slotNumbers = new Numbers();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    /** Serializa as alterações, que podem então preparar o novo estado lendo sem bloqueio. */
+    private final Object writer = new Object();
+
+    /**
+     * @param withValues se cada ocorrência guarda um valor
+     */
+    PostingsIndex(boolean withValues) {
+        this.withValues = withValues;
+    }
+
+    /**
+     * Executa a consulta com o bloqueio de leitura; os demais métodos de leitura só podem
+     * ser chamados dentro dela.
+     */
+    <R> R read(Supplier<R> query) {
+        lock.readLock().lock();
+        try {
+            return query.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Lista da chave, ou null se nenhum documento a contém. */
+    Postings postings(K key) {
+        Integer number = numbers.get(key);
+        return number != null ? lists[number] : null;
+    }
+
+    long id(int slot) {
+        return ids[slot];
+    }
+
+    int length(int slot) {
+        return lengths[slot];
+    }
+
+    /** Limite (exclusivo) das posições em uso. */
+    int slotCount() {
+        return slotCount;
+    }
+
+    int documentCount() {
+        return slots.size();
+    }
+
+    long totalLength() {
+        return totalLength;
+    }
+
+    int size() {
+        return read(slots::size);
+    }
+
+    /**
+     * Aplica de uma vez as alterações de uma gravação: tira os documentos removidos e a
+     * versão anterior dos alterados, e indexa os novos. Em vez de deslocar o array de cada
+     * lista a cada documento, as alterações são agrupadas por chave e cada lista afetada é
+     * refeita em uma única passagem, em novos arrays e sem bloquear as buscas; o bloqueio
+     * exclusivo só cobre a troca. Inclusões só no fim de uma lista (posições novas, como na
+     * carga inicial) e poucas alterações, como as de um único fornecedor, são feitas no
+     * próprio array.
+     * @param saved   documentos novos ou alterados; sem chaves, o documento só é removido
+     * @param deleted IDs removidos
+     */
+    void apply(Map<Long, Document<K>> saved, Collection<Long> deleted) {
+        if (saved.isEmpty() && deleted.isEmpty()) {
+            return;
+        }
+        synchronized (writer) {
+            // Só este trecho altera o índice; ler sem o bloqueio é seguro
+            Map<Integer, Change> changes = new HashMap<>();
+            Set<Long> replaced = new LinkedHashSet<>(deleted);
+            replaced.addAll(saved.keySet());
+            Numbers releasedSlots = new Numbers();
+            for (Long id : replaced) {
+                Integer slot = slots.get(id);
+                if (slot != null) {
+                    releasedSlots.release(slot);
+                    for (int number : documentKeys[slot]) {
+                        changes.computeIfAbsent(number, n -> new Change()).remove(slot);
+                    }
+                }
+            }
+            Map<K, Integer> addedKeys = new HashMap<>();
+            Map<Long, Integer> allocated = new HashMap<>();
+            Map<Integer, int[]> allocatedKeys = new HashMap<>();
+            for (Map.Entry<Long, Document<K>> entry : saved.entrySet()) {
+                Document<K> document = entry.getValue();
+                if (document.keys().isEmpty()) {
+                    continue;
+                }
+                int slot = slotNumbers.take();
+                int[] documentNumbers = new int[document.keys().size()];
+                for (int k = 0; k < documentNumbers.length; k++) {
+                    K key = document.keys().get(k);
+                    Integer number = numbers.get(key);
+                    if (number == null) {
+                        number = addedKeys.computeIfAbsent(key, x -> keyNumbers.take());
+                    }
+                    documentNumbers[k] = number;
+                    changes.computeIfAbsent(number, n -> new Change())
+                            .add(slot, document.values() != null ? document.values()[k] : 0);
+                }
+                allocated.put(entry.getKey(), slot);
+                allocatedKeys.put(slot, documentNumbers);
+            }
+            changes.forEach((number, change) -> change.prepare(number < lists.length ? lists[number] : null, withValues));
+
+            Numbers releasedKeys = new Numbers();
+            lock.writeLock().lock();
+            try {
+                for (Long id : replaced) {
+                    Integer slot = slots.remove(id);
+                    if (slot != null) {
+                        totalLength -= lengths[slot];
+                        documentKeys[slot] = null;
+                    }
+                }
+                if (slotNumbers.next > ids.length) {
+                    int capacity = Math.max(slotNumbers.next, ids.length * 2);
+                    ids = Arrays.copyOf(ids, capacity);
+                    documentKeys = Arrays.copyOf(documentKeys, capacity);
+                    lengths = Arrays.copyOf(lengths, capacity);
+                }
+                slotCount = slotNumbers.next;
+                allocated.forEach((id, slot) -> {
+                    ids[slot] = id;
+                    documentKeys[slot] = allocatedKeys.get(slot);
+                    lengths[slot] = saved.get(id).length();
+                    totalLength += lengths[slot];
+                    slots.put(id, slot);
+                });
+                if (keyNumbers.next > lists.length) {
+                    int capacity = Math.max(keyNumbers.next, lists.length * 2);
+                    keys = Arrays.copyOf(keys, capacity);
+                    lists = Arrays.copyOf(lists, capacity);
+                }
+                addedKeys.forEach((key, number) -> {
+                    numbers.put(key, number);
+                    keys[number] = key;
+                });
+                changes.forEach((number, change) -> {
+                    Postings list = change.applyTo(lists[number], withValues);
+                    if (list.size > 0) {
+                        lists[number] = list;
+                    } else {
+                        numbers.remove(keys[number]);
+                        keys[number] = null;
+                        lists[number] = null;
+                        releasedKeys.release(number);
+                    }
+                });
+            } finally {
+                lock.writeLock().unlock();
+            }
+            slotNumbers.releaseAll(releasedSlots);
+            keyNumbers.releaseAll(releasedKeys);
+        }
+    }
+
+    void clear() {
+        synchronized (writer) {
+            lock.writeLock().lock();
+            try {
+                numbers.clear();
+                keys = new Object[16];
+                lists = new Postings[16];
+                keyNumbers.clear();
+                slots.clear();
+                ids = new long[16];
+                documentKeys = new int[16][];
+                lengths = new int[16];
+                slotCount = 0;
+                totalLength = 0;
+                slotNumbers.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /** Números a partir de zero, com os liberados reaproveitados primeiro. */
+    private static final class Numbers {
+
+        int next;
+        int[] free = new int[16];
+        int freeCount;
+
+        int take() {
+            return freeCount > 0 ? free[--freeCount] : next++;
+        }
+
+        void release(int number) {
+            if (freeCount == free.length) {
+                free = Arrays.copyOf(free, freeCount * 2);
+            }
+            free[freeCount++] = number;
+        }
+
+        void releaseAll(Numbers released) {
+            for (int i = 0; i < released.freeCount; i++) {
+                release(released.free[i]);
+            }
+        }
+
+        void clear() {
+            next = 0;
+            freeCount = 0;
+        }
+    }
+
+    /**
+     * Alterações de uma lista em {@link #apply}: posições a remover e ocorrências a incluir,
+     * cada uma com a posição nos 32 bits altos e o valor nos baixos.
+     */
+    private static final class Change {
+
+        int[] removed = new int[4];
+        int removedCount;
+        long[] added = new long[4];
+        int addedCount;
+
+        /** Lista refeita, ou null se a atual é alterada no próprio array. */
+        Postings merged;
+
+        void remove(int slot) {
+            if (removedCount == removed.length) {
+                removed = Arrays.copyOf(removed, removedCount * 2);
+            }
+            removed[removedCount++] = slot;
+        }
+
+        void add(int slot, int value) {
+            if (addedCount == added.length) {
+                added = Arrays.copyOf(added, addedCount * 2);
+            }
+            added[addedCount++] = (long) slot << 32 | value & 0xFFFFFFFFL;
+        }
+
+        /** Refaz a lista, sem alterar a atual, ainda visível para as buscas. */
+        void prepare(Postings current, boolean withValues) {
+            Arrays.sort(added, 0, addedCount);
+            boolean append = removedCount == 0
+                    && (current == null || current.size == 0 || current.slots[current.size - 1] < (int) (added[0] >>> 32));
+            if (!append && removedCount + addedCount > IN_PLACE_CHANGES) {
+                Arrays.sort(removed, 0, removedCount);
+                merged = Postings.merge(current, removed, removedCount, added, addedCount, withValues);
+            }
+        }
+
+        /** Com o bloqueio exclusivo: a lista que passa a valer para a chave. */
+        Postings applyTo(Postings current, boolean withValues) {
+            if (merged != null) {
+                return merged;
+            }
+            Postings list = current != null ? current : new Postings(4, withValues);
+            for (int r = 0; r < removedCount; r++) {
+                list.remove(removed[r]);
+            }
+            list.insert(added, addedCount);
+            return list;
+        }
+    }
+
+    /**
+     * Ocorrências de uma chave: posições em ordem crescente e, se houver, o valor de cada
+     * uma na mesma posição de {@code values}.
+     */
+    static final class Postings {
+
+        int[] slots;
+        int[] values;
+        int size;
+
+        private Postings(int capacity, boolean withValues) {
+            slots = new int[capacity];
+            values = withValues ? new int[capacity] : null;
+        }
+
+        /**
+         * Primeira posição a partir de {@code from} com slot maior ou igual a {@code slot},
+         * ou {@code size} se não houver; avança em saltos exponenciais e refina por busca binária.
+         */
+        int seek(int slot, int from) {
+            // Em listas densas o slot procurado costuma estar a poucas posições
+            for (int end = Math.min(size, from + 8); from < end; from++) {
+                if (slots[from] >= slot) {
+                    return from;
+                }
+            }
+            int step = 1;
+            int high = from;
+            while (high < size && slots[high] < slot) {
+                from = high + 1;
+                high += step;
+                step <<= 1;
+            }
+            int at = Arrays.binarySearch(slots, from, Math.min(high + 1, size), slot);
+            return at >= 0 ? at : -(at + 1);
+        }
+
+        /** Inclui as ocorrências (em ordem); as maiores que todas as atuais vão direto para o fim. */
+        private void insert(long[] added, int count) {
+            if (size + count > slots.length) {
+                int capacity = Math.max(size + count, size + (size >> 1) + 1);
+                slots = Arrays.copyOf(slots, capacity);
+                if (values != null) {
+                    values = Arrays.copyOf(values, capacity);
+                }
+            }
+            for (int a = 0; a < count; a++, size++) {
+                int slot = (int) (added[a] >>> 32);
+                int at = size == 0 || slots[size - 1] < slot ? size : -(Arrays.binarySearch(slots, 0, size, slot) + 1);
+                System.arraycopy(slots, at, slots, at + 1, size - at);
+                slots[at] = slot;
+                if (values != null) {
+                    System.arraycopy(values, at, values, at + 1, size - at);
+                    values[at] = (int) added[a];
+                }
+            }
+        }
+
+        private void remove(int slot) {
+            int at = Arrays.binarySearch(slots, 0, size, slot);
+            System.arraycopy(slots, at + 1, slots, at, size - at - 1);
+            if (values != null) {
+                System.arraycopy(values, at + 1, values, at, size - at - 1);
+            }
+            size--;
+        }
+
+        /**
+         * Nova lista sem as posições removidas (em ordem) e com as ocorrências incluídas (em
+         * ordem), em uma passagem; a atual não muda.
+         */
+        static Postings merge(Postings current, int[] removed, int removedCount, long[] added, int addedCount,
+                              boolean withValues) {
+            int size = current != null ? current.size : 0;
+            Postings merged = new Postings(Math.max(4, size + addedCount), withValues);
+            int out = 0;
+            int a = 0;
+            int r = 0;
+            for (int i = 0; i <= size; i++) {
+                int slot = i < size ? current.slots[i] : Integer.MAX_VALUE;
+                for (; a < addedCount && (int) (added[a] >>> 32) < slot; a++, out++) {
+                    merged.slots[out] = (int) (added[a] >>> 32);
+                    if (withValues) {
+                        merged.values[out] = (int) added[a];
+                    }
+                }
+                while (r < removedCount && removed[r] < slot) {
+                    r++;
+                }
+                if (i < size && (r == removedCount || removed[r] != slot)) {
+                    merged.slots[out] = slot;
+                    if (withValues) {
+                        merged.values[out] = current.values[i];
+                    }
+                    out++;
+                }
+            }
+            merged.size = out;
+            return merged;
+        }
+    }
+}
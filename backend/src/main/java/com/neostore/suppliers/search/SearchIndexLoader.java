@@ -0,0 +1,129 @@
+package com.neostore.suppliers.search;
+
+import com.neostore.suppliers.dto.SupplierDTO;
+import com.neostore.suppliers.repository.SupplierFilter;
+import com.neostore.suppliers.repository.SupplierRepository;
+import com.neostore.suppliers.repository.SupplierSort;
+import com.neostore.suppliers.service.SuppliersChanged;
+import com.neostore.suppliers.util.Cursor;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.concurrent.ManagedExecutorService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Initialized;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Monta e mantém os índices em memória de fornecedores (busca textual, nomes e
+ * trigramas). A carga roda em segundo plano após a inicialização, em páginas por chave
+ * lidas cada uma em sua própria consulta, sem transação aberta entre elas: uma tabela
+ * grande não atrasa o deploy nem esbarra no tempo limite de transação. Até o fim da carga
+ * os índices não atendem (ver {@link #isReady}); as gravações confirmadas nesse meio
+ * tempo são guardadas e aplicadas por último, pois podem ser mais novas que a página lida.
+ */
+@ApplicationScoped
+public class SearchIndexLoader {
+
+    private static final Logger LOG = Logger.getLogger(SearchIndexLoader.class);
+    private static final int PAGE_SIZE = 1_000;
+
+    @Inject
+    private SupplierRepository repository;
+
+    @Inject
+    private SupplierSearchIndex searchIndex;
+
+    @Inject
+    private SupplierNameIndex nameIndex;
+
+    @Inject
+    private SupplierSimilarityIndex similarityIndex;
+
+    @Resource
+    private ManagedExecutorService executor;
+
+    private volatile boolean ready;
+    /** Estado mais recente de cada fornecedor gravado durante a carga; null se removido. */
+    private final Map<Long, SupplierDTO> pending = new HashMap<>();
+
+    void onStartup(@Observes @Initialized(ApplicationScoped.class) Object event) {
+        try {
+            executor.submit(this::load);
+        } catch (RejectedExecutionException ex) {
+            LOG.error("Carga dos índices de busca não agendada; busca, sugestões e duplicatas indisponíveis", ex);
+        }
+    }
+
+    /**
+     * Depois do commit de cada gravação; durante a carga, apenas guarda a alteração.
+     */
+    void onChange(@Observes(during = TransactionPhase.AFTER_SUCCESS) SuppliersChanged change) {
+        synchronized (pending) {
+            if (!ready) {
+                change.saved().forEach(supplier -> pending.put(supplier.id(), supplier));
+                change.deleted().forEach(id -> pending.put(id, null));
+                return;
+            }
+        }
+        apply(change.saved(), change.deleted());
+    }
+
+    /**
+     * @return se a carga terminou e os índices refletem a tabela
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    void load() {
+        long start = System.nanoTime();
+        try {
+            List<NamePrefixIndex.Entry> names = new ArrayList<>();
+            long count = 0;
+            Cursor after = null;
+            List<SupplierDTO> page;
+            while (!(page = repository.findAfter(SupplierFilter.NONE, SupplierSort.ID, after, PAGE_SIZE)).isEmpty()) {
+                searchIndex.apply(page, List.of());
+                similarityIndex.apply(page, List.of());
+                page.forEach(supplier -> names.add(new NamePrefixIndex.Entry(supplier.id(), supplier.name())));
+                count += page.size();
+                after = new Cursor(SupplierSort.ID.key(), page.get(page.size() - 1).id(), null);
+            }
+            nameIndex.load(names);
+            synchronized (pending) {
+                List<SupplierDTO> saved = new ArrayList<>();
+                List<Long> deleted = new ArrayList<>();
+                pending.forEach((id, supplier) -> {
+                    if (supplier != null) {
+                        saved.add(supplier);
+                    } else {
+                        deleted.add(id);
+                    }
+                });
+                apply(saved, deleted);
+                pending.clear();
+                ready = true;
+            }
+            LOG.infof("Índices de busca montados com %d fornecedores em %d ms",
+                    count, (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException ex) {
+            LOG.error("Carga dos índices de busca interrompida; busca, sugestões e duplicatas ficam "
+                    + "indisponíveis até a próxima inicialização", ex);
+        }
+    }
+
+    private void apply(List<SupplierDTO> saved, Collection<Long> deleted) {
+        searchIndex.apply(saved, deleted);
+        nameIndex.apply(saved, deleted);
+        similarityIndex.apply(saved, deleted);
+    }
+}
@@ -0,0 +1,36 @@
+package com.neostore.suppliers.search;
+
+import com.neostore.suppliers.dto.SupplierDTO;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Nomes de fornecedores para autocompletar, atendidos da memória sem acessar o banco.
+ * É montado e atualizado por {@link SearchIndexLoader}, um retrato novo por gravação.
+ */
+@ApplicationScoped
+public class SupplierNameIndex {
+
+    private final NamePrefixIndex index = new NamePrefixIndex();
+
+    void apply(List<SupplierDTO> suppliers, Collection<Long> deleted) {
+        List<NamePrefixIndex.Entry> saved = suppliers.stream()
+                .map(supplier -> new NamePrefixIndex.Entry(supplier.id(), supplier.name()))
+                .toList();
+        index.apply(saved, deleted);
+    }
+
+    /**
+     * @return até {@code limit} fornecedores cujo nome começa com o prefixo, ignorando
+     *         acentos e caixa, em ordem alfabética
+     */
+    public List<NamePrefixIndex.Entry> suggest(String prefix, int limit) {
+        return index.find(prefix, limit);
+    }
+
+    void load(Collection<NamePrefixIndex.Entry> entries) {
+        index.load(entries);
+    }
+}
@@ -0,0 +1,52 @@
+package com.neostore.suppliers.search;
+
+import com.neostore.suppliers.dto.SupplierDTO;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Índice de busca textual sobre nome e descrição dos fornecedores, mantido em memória.
+ * É montado e atualizado por {@link SearchIndexLoader}. Guarda apenas IDs e termos; os
+ * dados exibidos vêm do banco.
+ */
+@ApplicationScoped
+public class SupplierSearchIndex {
+
+    /** Quantas vezes um termo do nome vale em relação a um termo da descrição. */
+    static final int NAME_WEIGHT = 3;
+
+    private final InvertedIndex index = new InvertedIndex();
+
+    /**
+     * Uma única aplicação por gravação ou página da carga (ver {@link InvertedIndex#apply}).
+     */
+    void apply(List<SupplierDTO> suppliers, Collection<Long> deleted) {
+        Map<Long, List<String>> saved = new HashMap<>();
+        for (SupplierDTO supplier : suppliers) {
+            saved.put(supplier.id(), terms(supplier));
+        }
+        index.apply(saved, deleted);
+    }
+
+    /**
+     * @return página de IDs do mais ao menos relevante, e o total de fornecedores encontrados
+     */
+    public InvertedIndex.Page search(String query, int offset, int limit) {
+        return index.search(TextAnalyzer.terms(query), offset, limit);
+    }
+
+    private static List<String> terms(SupplierDTO supplier) {
+        List<String> name = TextAnalyzer.terms(supplier.name());
+        List<String> terms = new ArrayList<>(name.size() * NAME_WEIGHT + 16);
+        for (int i = 0; i < NAME_WEIGHT; i++) {
+            terms.addAll(name);
+        }
+        terms.addAll(TextAnalyzer.terms(supplier.description()));
+        return terms;
+    }
+}
@@ -0,0 +1,42 @@
+package com.neostore.suppliers.search;
+
+import com.neostore.suppliers.dto.SupplierDTO;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Trigramas dos nomes de fornecedores, para apontar prováveis cadastros duplicados
+ * ("Fornecedor S.A. Igor" e "Fornecedor SA Igor") que as restrições de CNPJ e e-mail
+ * não pegam. É montado e atualizado, inclusive pelas importações, por
+ * {@link SearchIndexLoader}.
+ */
+@ApplicationScoped
+public class SupplierSimilarityIndex {
+
+    /** Semelhança mínima para considerar dois nomes possíveis duplicatas. */
+    static final double THRESHOLD = 0.5;
+
+    private final TrigramIndex index = new TrigramIndex();
+
+    /**
+     * Uma única aplicação por gravação ou página da carga (ver {@link TrigramIndex#apply}).
+     */
+    void apply(List<SupplierDTO> suppliers, Collection<Long> deleted) {
+        Map<Long, String> saved = new HashMap<>();
+        for (SupplierDTO supplier : suppliers) {
+            saved.put(supplier.id(), supplier.name());
+        }
+        index.apply(saved, deleted);
+    }
+
+    /**
+     * @return até {@code limit} fornecedores com nome parecido, do mais ao menos parecido
+     */
+    public List<TrigramIndex.Match> similar(String name, int limit) {
+        return index.similar(name, THRESHOLD, limit);
+    }
+}
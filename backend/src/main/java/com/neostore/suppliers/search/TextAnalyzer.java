@@ -0,0 +1,69 @@
+package com.neostore.suppliers.search;
+
+import com.neostore.suppliers.util.NameNormalizer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Converte texto em português nos termos do índice de busca: minúsculas e sem acentos
+ * (ver {@link NameNormalizer#fold}), sem palavras vazias e com o plural reduzido ao singular,
+ * de modo que "Móveis para escritório" e "movel escritorios" gerem os mesmos termos.
+ */
+public final class TextAnalyzer {
+
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "o", "as", "os", "ao", "aos", "e", "ou", "de", "da", "do", "das", "dos",
+            "em", "no", "na", "nos", "nas", "um", "uma", "uns", "umas", "para", "pra", "por",
+            "com", "sem", "que", "se");
+
+    private TextAnalyzer() {}
+
+    /**
+     * @return termos na ordem do texto, com repetições; vazio se text for null
+     */
+    public static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        String folded = NameNormalizer.fold(text);
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean inWord = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (inWord && start < 0) {
+                start = i;
+            } else if (!inWord && start >= 0) {
+                String token = folded.substring(start, i);
+                if (!STOPWORDS.contains(token)) {
+                    terms.add(singular(token));
+                }
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Regras de plural do RSLP (Orengo e Huyck), sem a lista de exceções.
+     * Palavras de até três letras ficam como estão.
+     */
+    static String singular(String word) {
+        int n = word.length();
+        if (n <= 3 || word.charAt(n - 1) != 's') {
+            return word;
+        }
+        if (word.endsWith("oes") || word.endsWith("aes")) return word.substring(0, n - 3) + "ao";
+        if (word.endsWith("ais")) return word.substring(0, n - 2) + "l";
+        if (word.endsWith("eis")) return word.substring(0, n - 3) + "el";
+        if (word.endsWith("ois")) return word.substring(0, n - 3) + "ol";
+        if (word.endsWith("ns")) return word.substring(0, n - 2) + "m";
+        if (word.endsWith("res") || word.endsWith("zes")) return word.substring(0, n - 2);
+        return isVowel(word.charAt(n - 2)) ? word.substring(0, n - 1) : word;
+    }
+
+    private static boolean isVowel(char c) {
+        return c == 'a' || c == 'e' || c == 'i' || c == 'o' || c == 'u';
+    }
+}
@@ -0,0 +1,208 @@
+package com.neostore.suppliers.search;
+
+import com.neostore.suppliers.util.NameNormalizer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Índice de trigramas de nomes para encontrar grafias parecidas, como o {@code pg_trgm}:
+ * cada palavra, sem acentos e caixa, vira os trigramas de {@code "  palavra "}, e a
+ * semelhança entre dois nomes é a razão entre os trigramas em comum e o total de
+ * trigramas distintos dos dois (Jaccard).
+ * <p>
+ * A busca não compara o nome com todos os cadastrados: para atingir o limiar, um nome
+ * precisa compartilhar ao menos um dos trigramas mais raros da consulta (os
+ * {@code n - ⌈limiar·n⌉ + 1} primeiros em ordem de frequência). Só os donos desses
+ * trigramas viram candidatos, e as listas dos trigramas comuns apenas somam pontos a eles,
+ * percorridas em sequência ou, se os candidatos forem poucos, por busca binária. A contagem por
+ * candidato já é a interseção, sem reler os trigramas de cada nome.
+ * <p>
+ * As listas de cada trigrama ficam em um {@link PostingsIndex}, com o total de trigramas
+ * distintos de cada nome como tamanho do documento. Seguro para uso concorrente.
+ */
+public final class TrigramIndex {
+
+    /** Mais parecido primeiro; no empate, o menor ID. */
+    private static final Comparator<Match> RANKING =
+            Comparator.comparingDouble(Match::similarity).reversed().thenComparingLong(Match::id);
+
+    private final PostingsIndex<Long> index = new PostingsIndex<>(false);
+
+    /**
+     * Nome parecido e sua semelhança, de 0 a 1.
+     */
+    public record Match(long id, double similarity) {}
+
+    /**
+     * Indexa o nome, substituindo a versão anterior com o mesmo ID.
+     */
+    public void put(long id, String name) {
+        apply(Map.of(id, name), List.of());
+    }
+
+    public void remove(long id) {
+        apply(Map.of(), List.of(id));
+    }
+
+    /**
+     * Aplica de uma vez as alterações de uma gravação (ver {@link PostingsIndex#apply}).
+     * @param saved   nome de cada fornecedor novo ou alterado
+     * @param deleted IDs removidos
+     */
+    public void apply(Map<Long, String> saved, Collection<Long> deleted) {
+        Map<Long, PostingsIndex.Document<Long>> documents = new HashMap<>();
+        saved.forEach((id, name) -> {
+            List<Long> trigrams = Arrays.stream(trigrams(name)).boxed().toList();
+            documents.put(id, new PostingsIndex.Document<>(trigrams, null, trigrams.size()));
+        });
+        index.apply(documents, deleted);
+    }
+
+    public void clear() {
+        index.clear();
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Nomes com semelhança maior ou igual ao limiar, do mais ao menos parecido.
+     * @param threshold semelhança mínima, maior que 0
+     */
+    public List<Match> similar(String name, double threshold, int limit) {
+        long[] query = trigrams(name);
+        if (query.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        int minOverlap = Math.max(1, (int) Math.ceil(threshold * query.length - 1e-9));
+        return index.read(() -> {
+            // Listas da mais curta à mais longa; trigramas ausentes do índice não têm lista
+            List<PostingsIndex.Postings> lists = new ArrayList<>(query.length);
+            for (long trigram : query) {
+                PostingsIndex.Postings list = index.postings(trigram);
+                if (list != null) {
+                    lists.add(list);
+                }
+            }
+            lists.sort(Comparator.comparingInt(list -> list.size));
+            int prefix = query.length - minOverlap + 1 - (query.length - lists.size());
+
+            short[] counts = new short[index.slotCount()];
+            int[] candidates = new int[16];
+            int candidateCount = 0;
+            for (int k = 0; k < lists.size(); k++) {
+                PostingsIndex.Postings list = lists.get(k);
+                if (k < prefix) {
+                    for (int p = 0; p < list.size; p++) {
+                        int slot = list.slots[p];
+                        if (counts[slot]++ == 0) {
+                            if (candidateCount == candidates.length) {
+                                candidates = Arrays.copyOf(candidates, candidateCount * 2);
+                            }
+                            candidates[candidateCount++] = slot;
+                        }
+                    }
+                } else if ((long) candidateCount * 256 < list.size) {
+                    // Cada busca binária salta pela memória; percorrer em sequência custa bem menos por item
+                    for (int c = 0; c < candidateCount; c++) {
+                        if (Arrays.binarySearch(list.slots, 0, list.size, candidates[c]) >= 0) {
+                            counts[candidates[c]]++;
+                        }
+                    }
+                } else {
+                    for (int p = 0; p < list.size; p++) {
+                        int slot = list.slots[p];
+                        if (counts[slot] > 0) {
+                            counts[slot]++;
+                        }
+                    }
+                }
+            }
+
+            PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, RANKING.reversed());
+            for (int c = 0; c < candidateCount; c++) {
+                int slot = candidates[c];
+                int common = counts[slot];
+                if (common < minOverlap) {
+                    continue;
+                }
+                double similarity = (double) common / (query.length + index.length(slot) - common);
+                if (similarity < threshold) {
+                    continue;
+                }
+                Match match = new Match(index.id(slot), similarity);
+                if (best.size() < limit) {
+                    best.add(match);
+                } else if (RANKING.compare(match, best.peek()) < 0) {
+                    best.poll();
+                    best.add(match);
+                }
+            }
+            List<Match> ranked = new ArrayList<>(best);
+            ranked.sort(RANKING);
+            return ranked;
+        });
+    }
+
+    /**
+     * Trigramas distintos do nome, em ordem crescente, cada um com seus três caracteres
+     * em um código (ver {@link #code}).
+     */
+    static long[] trigrams(String name) {
+        String folded = NameNormalizer.fold(name);
+        if (folded == null) {
+            return new long[0];
+        }
+        long[] trigrams = new long[folded.length() * 2 + 4];
+        int count = 0;
+        int i = 0;
+        while (i < folded.length()) {
+            if (!Character.isLetterOrDigit(folded.charAt(i))) {
+                i++;
+                continue;
+            }
+            int end = i;
+            while (end < folded.length() && Character.isLetterOrDigit(folded.charAt(end))) {
+                end++;
+            }
+            // "  abc " -> "  a", " ab", "abc", "bc "
+            if (count + end - i + 2 > trigrams.length) {
+                trigrams = Arrays.copyOf(trigrams, (count + end - i + 2) * 2);
+            }
+            char first = ' ';
+            char second = ' ';
+            for (int c = i; c <= end; c++) {
+                char third = c < end ? folded.charAt(c) : ' ';
+                trigrams[count++] = code(first, second, third);
+                first = second;
+                second = third;
+            }
+            i = end;
+        }
+        Arrays.sort(trigrams, 0, count);
+        int distinct = 0;
+        for (int t = 0; t < count; t++) {
+            if (distinct == 0 || trigrams[distinct - 1] != trigrams[t]) {
+                trigrams[distinct++] = trigrams[t];
+            }
+        }
+        return Arrays.copyOf(trigrams, distinct);
+    }
+
+    /**
+     * Os três caracteres em 16 bits cada, multiplicados por uma constante ímpar: a
+     * multiplicação não gera códigos repetidos e espalha os bits, evitando colisões no
+     * mapa de listas ({@link Long#hashCode} só mistura as duas metades).
+     */
+    static long code(char first, char second, char third) {
+        return ((long) first << 32 | (long) second << 16 | third) * 0x9E3779B97F4A7C15L;
+    }
+}
@@ -0,0 +1,24 @@
+package com.neostore.suppliers.service;
+
+import com.neostore.suppliers.dto.SupplierDTO;
+
+/**
+ * Recebe o resultado de cada registro de uma importação, à medida que são processados.
+ * Os eventos não chegam necessariamente na ordem dos índices.
+ */
+public interface ImportListener {
+
+    /**
+     * Registro gravado com sucesso.
+     * @param index posição do registro na origem
+     */
+    void imported(int index);
+
+    /**
+     * Registro rejeitado.
+     * @param index    posição do registro na origem
+     * @param supplier registro rejeitado (pode ser null se não pôde ser lido)
+     * @param error    motivo da rejeição
+     */
+    void failed(int index, SupplierDTO supplier, String error);
+}
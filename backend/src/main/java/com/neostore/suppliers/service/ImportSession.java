@@ -0,0 +1,29 @@
+package com.neostore.suppliers.service;
+
+import com.neostore.suppliers.dto.SupplierDTO;
+
+/**
+ * Importação incremental: os registros são recebidos um a um e gravados em lotes,
+ * sem exigir que a origem inteira esteja em memória.
+ * O índice de cada registro é atribuído pela ordem de chegada, começando em 0.
+ */
+public interface ImportSession extends AutoCloseable {
+
+    /**
+     * Enfileira o próximo registro; o lote é gravado quando atinge o tamanho configurado.
+     * @param supplier registro a importar
+     */
+    void add(SupplierDTO supplier);
+
+    /**
+     * Consome o próximo índice como falha, para registros que não puderam ser lidos.
+     * @param error motivo da rejeição
+     */
+    void reject(String error);
+
+    /**
+     * Grava o lote pendente.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,60 @@
+package com.neostore.suppliers.service;
+
+import com.neostore.suppliers.api.payload.ImportJobStatus;
+import com.neostore.suppliers.api.payload.ImportResult;
+import com.neostore.suppliers.dto.SupplierDTO;
+import java.util.List;
+
+/**
+ * Importação em lote de fornecedores.
+ */
+public interface SupplierImportService {
+
+    /**
+     * Importa os fornecedores usando o tamanho de lote padrão.
+     * @param suppliers registros a importar
+     * @return relatório com o total importado e os erros por índice
+     */
+    ImportResult importAll(List<SupplierDTO> suppliers);
+
+    /**
+     * Importa os fornecedores em transações de até {@code chunkSize} registros.
+     * @param suppliers registros a importar
+     * @param chunkSize quantidade de registros por transação
+     * @return relatório com o total importado e os erros por índice
+     */
+    ImportResult importAll(List<SupplierDTO> suppliers, int chunkSize);
+
+    /**
+     * Abre uma importação incremental.
+     * @param chunkSize quantidade de registros por transação; se null, usa o padrão
+     * @param listener  destino dos resultados de cada registro
+     * @return sessão que deve ser fechada ao fim da leitura
+     */
+    ImportSession openSession(Integer chunkSize, ImportListener listener);
+
+    /**
+     * Agenda a importação para execução em segundo plano.
+     * @param suppliers registros a importar
+     * @param chunkSize quantidade de registros por transação; se null, usa o padrão
+     * @return situação inicial do job
+     * @throws com.neostore.suppliers.exception.TooManyRequestsException se o limite de jobs simultâneos foi atingido
+     */
+    ImportJobStatus submitJob(List<SupplierDTO> suppliers, Integer chunkSize);
+
+    /**
+     * Consulta o andamento de um job.
+     * @param jobId identificador do job
+     * @return situação atual; a lista de erros só é preenchida após o término
+     * @throws com.neostore.suppliers.exception.ResourceNotFoundException se o job não existir ou já tiver expirado
+     */
+    ImportJobStatus getJob(String jobId);
+
+    /**
+     * Cancela um job; os lotes já gravados permanecem.
+     * @param jobId identificador do job
+     * @return situação após o pedido de cancelamento
+     * @throws com.neostore.suppliers.exception.ResourceNotFoundException se o job não existir ou já tiver expirado
+     */
+    ImportJobStatus cancelJob(String jobId);
+}
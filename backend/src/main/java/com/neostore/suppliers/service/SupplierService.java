@@ -1,14 +1,37 @@
 package com.neostore.suppliers.service;
 
+import com.neostore.suppliers.api.payload.BulkResult;
+import com.neostore.suppliers.api.payload.BulkUpdateRequest;
+import com.neostore.suppliers.api.payload.CursorPage;
+import com.neostore.suppliers.api.payload.LookupRequest;
+import com.neostore.suppliers.api.payload.LookupResponse;
+import com.neostore.suppliers.api.payload.NameSuggestion;
+import com.neostore.suppliers.api.payload.PagedResponse;
+import com.neostore.suppliers.api.payload.SimilarSupplier;
 import com.neostore.suppliers.dto.SupplierDTO;
+import com.neostore.suppliers.dto.Versioned;
+import com.neostore.suppliers.repository.SupplierFilter;
+import com.neostore.suppliers.repository.SupplierSort;
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface SupplierService {
     SupplierDTO create(@Valid SupplierDTO dto);
-    SupplierDTO update(Long id, @Valid SupplierDTO dto);
-    void delete(Long id);
-    SupplierDTO findById(Long id);
-    List<SupplierDTO> findAll(int page, int pageSize);
+    Versioned<SupplierDTO> update(Long id, @Valid SupplierDTO dto, Long expectedVersion);
+    void delete(Long id, Long expectedVersion);
+    BulkResult deleteAll(List<Long> ids);
+    BulkResult updateAll(@Valid BulkUpdateRequest request);
+    Versioned<SupplierDTO> findById(Long id);
+    LookupResponse lookup(LookupRequest request);
+    List<SupplierDTO> findAll(SupplierFilter filter, SupplierSort sort, int page, int pageSize);
+    PagedResponse<SupplierDTO> findPage(SupplierFilter filter, SupplierSort sort, int page, int pageSize, boolean includeTotal);
+    CursorPage<SupplierDTO> findAfter(SupplierFilter filter, SupplierSort sort, String cursor, int limit);
+    PagedResponse<SupplierDTO> search(String query, int page, int pageSize);
+    List<NameSuggestion> suggest(String prefix, int limit);
+    List<SimilarSupplier> similar(Long id, int limit);
     long count();
+    TableVersion tableVersion();
+    void validateListing(SupplierFilter filter, SupplierSort sort, String cursor);
+    long exportAll(Consumer<SupplierDTO> consumer);
 }
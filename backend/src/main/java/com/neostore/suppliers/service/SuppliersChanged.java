@@ -0,0 +1,25 @@
+package com.neostore.suppliers.service;
+
+import com.neostore.suppliers.dto.SupplierDTO;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Evento CDI disparado dentro da transação que grava fornecedores. Observadores com
+ * {@code during = TransactionPhase.AFTER_SUCCESS} (índices em memória) só o recebem
+ * depois do commit.
+ *
+ * @param saved   fornecedores criados ou alterados, com os valores gravados
+ * @param deleted IDs removidos
+ */
+public record SuppliersChanged(List<SupplierDTO> saved, Collection<Long> deleted) {
+
+    public static SuppliersChanged saved(List<SupplierDTO> suppliers) {
+        return new SuppliersChanged(suppliers, List.of());
+    }
+
+    public static SuppliersChanged deleted(Collection<Long> ids) {
+        return new SuppliersChanged(List.of(), ids);
+    }
+}
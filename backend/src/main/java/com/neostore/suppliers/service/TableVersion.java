@@ -0,0 +1,7 @@
+package com.neostore.suppliers.service;
+
+/**
+ * Versão da tabela de fornecedores vista por este nó: a inicialização do nó e quantas
+ * gravações ele já confirmou. Qualquer gravação confirmada produz uma versão diferente.
+ */
+public record TableVersion(long epoch, long generation) {}
@@ -0,0 +1,182 @@
+package com.neostore.suppliers.service.impl;
+
+import com.neostore.suppliers.api.payload.ImportError;
+import com.neostore.suppliers.dto.SupplierDTO;
+import com.neostore.suppliers.exception.ApiException;
+import com.neostore.suppliers.exception.UniqueConstraintTranslator;
+import com.neostore.suppliers.jfr.ImportChunkEvent;
+import com.neostore.suppliers.jfr.ImportRowEvent;
+import com.neostore.suppliers.metrics.Histogram;
+import com.neostore.suppliers.metrics.MetricsRegistry;
+import com.neostore.suppliers.service.ImportListener;
+import com.neostore.suppliers.service.ImportSession;
+import com.neostore.suppliers.service.SupplierService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Sessão de importação que valida cada registro ao chegar e grava os válidos em lotes.
+ * Guarda apenas o lote corrente: duplicidades com lotes anteriores são encontradas
+ * pela consulta de unicidade, pois esses lotes já foram confirmados.
+ */
+class ChunkedImportSession implements ImportSession {
+
+    private final Validator validator;
+    private final SupplierImportChunkWriter writer;
+    private final SupplierService service;
+    private final int chunkSize;
+    private final ImportListener listener;
+    private final LongAdder importedRows;
+    private final LongAdder failedRows;
+    private final Histogram chunkTime;
+
+    private final List<ImportRow> chunk;
+    /** Eventos JFR dos registros do lote corrente; vazio quando o evento está desligado. */
+    private final Map<Integer, ImportRowEvent> rowEvents = new HashMap<>();
+    private int nextIndex;
+
+    ChunkedImportSession(Validator validator, SupplierImportChunkWriter writer, SupplierService service,
+                         MetricsRegistry metrics, int chunkSize, ImportListener listener) {
+        this.validator = validator;
+        this.writer = writer;
+        this.service = service;
+        this.chunkSize = chunkSize;
+        this.listener = listener;
+        this.importedRows = metrics.counter("neostore_import_rows_total", "Registros importados por resultado",
+                "outcome", "imported");
+        this.failedRows = metrics.counter("neostore_import_rows_total", "Registros importados por resultado",
+                "outcome", "failed");
+        this.chunkTime = metrics.histogram("neostore_import_chunk_seconds", "Duração da gravação de cada lote");
+        this.chunk = new ArrayList<>(chunkSize);
+    }
+
+    @Override
+    public void add(SupplierDTO supplier) {
+        int index = nextIndex++;
+        ImportRowEvent event = new ImportRowEvent();
+        event.begin();
+        String error = validate(supplier);
+        if (error != null) {
+            failed(index, supplier, error);
+            commit(event, index, error);
+            return;
+        }
+        if (event.isEnabled()) {
+            rowEvents.put(index, event);
+        }
+        chunk.add(new ImportRow(index, supplier));
+        if (chunk.size() == chunkSize) {
+            flush();
+        }
+    }
+
+    @Override
+    public void reject(String error) {
+        failed(nextIndex++, null, error);
+    }
+
+    @Override
+    public void close() {
+        flush();
+    }
+
+    private String validate(SupplierDTO dto) {
+        if (dto == null) {
+            return "Registro vazio";
+        }
+        Set<ConstraintViolation<SupplierDTO>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .collect(Collectors.joining("; "));
+    }
+
+    private void flush() {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        ImportChunkEvent chunkEvent = new ImportChunkEvent();
+        chunkEvent.begin();
+        long start = System.nanoTime();
+        List<ImportError> errors;
+        try {
+            errors = writer.write(chunk);
+        } catch (RuntimeException ex) {
+            // Só violação de integridade (ex.: cadastro concorrente) é culpa de algum registro;
+            // as demais falhas (conexão, tempo limite) derrubariam cada registro do mesmo jeito
+            if (UniqueConstraintTranslator.translate(ex, null, null).isEmpty()) {
+                // Descarta o lote para que o close() da sessão não o reenvie
+                chunk.clear();
+                rowEvents.clear();
+                throw ex;
+            }
+            chunkEvent.fallback = true;
+            errors = writeOneByOne(chunk);
+        }
+        chunkTime.observeNanos(System.nanoTime() - start);
+        chunkEvent.rows = chunk.size();
+        chunkEvent.failed = errors.size();
+        chunkEvent.commit();
+
+        Set<Integer> failed = new HashSet<>();
+        for (ImportError error : errors) {
+            failed.add(error.index());
+            failed(error.index(), error.supplier(), error.error());
+            commit(rowEvents.get(error.index()), error.index(), error.error());
+        }
+        for (ImportRow row : chunk) {
+            if (!failed.contains(row.index())) {
+                importedRows.increment();
+                listener.imported(row.index());
+                commit(rowEvents.get(row.index()), row.index(), null);
+            }
+        }
+        chunk.clear();
+        rowEvents.clear();
+    }
+
+    private static void commit(ImportRowEvent event, int index, String error) {
+        if (event != null && event.shouldCommit()) {
+            event.index = index;
+            event.outcome = error == null ? "imported" : "failed";
+            event.error = error;
+            event.commit();
+        }
+    }
+
+    private void failed(int index, SupplierDTO supplier, String error) {
+        failedRows.increment();
+        listener.failed(index, supplier, error);
+    }
+
+    private List<ImportError> writeOneByOne(List<ImportRow> rows) {
+        List<ImportError> errors = new ArrayList<>();
+        for (ImportRow row : rows) {
+            try {
+                service.create(row.supplier());
+            } catch (ApiException ex) {
+                errors.add(new ImportError(row.index(), row.supplier(), ex.getMessage()));
+            } catch (ConstraintViolationException ex) {
+                String msg = ex.getConstraintViolations().stream()
+                        .map(ConstraintViolation::getMessage)
+                        .collect(Collectors.joining("; "));
+                errors.add(new ImportError(row.index(), row.supplier(), msg));
+            } catch (Exception ex) {
+                errors.add(new ImportError(row.index(), row.supplier(), "Unexpected error: " + ex.getMessage()));
+            }
+        }
+        return errors;
+    }
+}
@@ -0,0 +1,133 @@
+package com.neostore.suppliers.service.impl;
+
+import com.neostore.suppliers.api.payload.ImportError;
+import com.neostore.suppliers.api.payload.ImportJobStatus;
+import com.neostore.suppliers.dto.SupplierDTO;
+import com.neostore.suppliers.service.ImportListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Estado de uma importação assíncrona, atualizado pela thread do executor
+ * e lido pelas requisições de acompanhamento.
+ */
+class ImportJob implements ImportListener {
+
+    enum State { QUEUED, RUNNING, COMPLETED, CANCELLED, FAILED }
+
+    private final String id = UUID.randomUUID().toString();
+    private final int total;
+    private final AtomicInteger imported = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final List<ImportError> errors = new ArrayList<>();
+
+    private List<SupplierDTO> suppliers;
+    private volatile State state = State.QUEUED;
+    private volatile boolean cancelRequested;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String message;
+    private volatile Future<?> future;
+
+    ImportJob(List<SupplierDTO> suppliers) {
+        this.suppliers = suppliers;
+        this.total = suppliers.size();
+    }
+
+    String id() {
+        return id;
+    }
+
+    /**
+     * Entrega os registros para processamento, liberando a referência mantida pelo job.
+     */
+    List<SupplierDTO> takeSuppliers() {
+        List<SupplierDTO> rows = suppliers;
+        suppliers = null;
+        return rows;
+    }
+
+    void attach(Future<?> future) {
+        this.future = future;
+    }
+
+    void start() {
+        startedAt = Instant.now();
+        state = State.RUNNING;
+    }
+
+    void finish(State finalState, String failure) {
+        message = failure;
+        finishedAt = Instant.now();
+        state = finalState;
+    }
+
+    /**
+     * Pede o cancelamento; os lotes já gravados permanecem.
+     * Um job em execução para antes do próximo registro.
+     *
+     * @return true se o job ainda estava na fila e não chegará a executar
+     */
+    boolean cancel() {
+        cancelRequested = true;
+        Future<?> queued = future;
+        if (state == State.QUEUED && queued != null && queued.cancel(false)) {
+            finish(State.CANCELLED, null);
+            return true;
+        }
+        return false;
+    }
+
+    boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    boolean isFinished() {
+        return finishedAt != null;
+    }
+
+    Instant finishedAt() {
+        return finishedAt;
+    }
+
+    @Override
+    public void imported(int index) {
+        imported.incrementAndGet();
+    }
+
+    @Override
+    public void failed(int index, SupplierDTO supplier, String error) {
+        failed.incrementAndGet();
+        synchronized (errors) {
+            errors.add(new ImportError(index, supplier, error));
+        }
+    }
+
+    ImportJobStatus snapshot() {
+        int ok = imported.get();
+        int ko = failed.get();
+        Instant start = startedAt;
+        Instant end = finishedAt;
+        double rowsPerSecond = 0;
+        if (start != null) {
+            long millis = Duration.between(start, end != null ? end : Instant.now()).toMillis();
+            rowsPerSecond = millis > 0 ? (ok + ko) * 1000.0 / millis : 0;
+        }
+        List<ImportError> finalErrors = null;
+        if (end != null) {
+            synchronized (errors) {
+                finalErrors = new ArrayList<>(errors);
+            }
+            finalErrors.sort(Comparator.comparingInt(ImportError::index));
+        }
+        return new ImportJobStatus(id, state.name(), total, ok + ko, ok, ko,
+                rowsPerSecond, start, end, message, finalErrors);
+    }
+}
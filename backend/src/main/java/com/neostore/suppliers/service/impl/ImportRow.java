@@ -0,0 +1,8 @@
+package com.neostore.suppliers.service.impl;
+
+import com.neostore.suppliers.dto.SupplierDTO;
+
+/**
+ * Registro de importação já validado, com sua posição no arquivo de origem.
+ */
+public record ImportRow(int index, SupplierDTO supplier) {}
@@ -0,0 +1,67 @@
+package com.neostore.suppliers.service.impl;
+
+import jakarta.annotation.Resource;
+import jakarta.enterprise.concurrent.ManagedExecutorService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Initialized;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Preenche a versão e as chaves de CNPJ, de e-mail e de nome (e o domínio do e-mail) dos
+ * fornecedores gravados antes delas existirem. A versão é atribuída durante a
+ * inicialização, em um único UPDATE, antes de a API atender: sem ela, a leitura e a
+ * gravação com controle de versão falhariam. As chaves são preenchidas em segundo plano,
+ * um lote por transação (ver {@link NaturalKeyBackfillBatch}): uma tabela grande não
+ * atrasa nem derruba o deploy, e uma falha apenas interrompe o preenchimento, retomado
+ * na próxima inicialização. O CNPJ exibido não é reescrito na máscara (ver
+ * {@link com.neostore.suppliers.model.Supplier#fillCnpjKey}).
+ */
+@ApplicationScoped
+public class NaturalKeyBackfill {
+
+    private static final Logger LOG = Logger.getLogger(NaturalKeyBackfill.class);
+    private static final int BATCH_SIZE = 500;
+
+    @Inject
+    private NaturalKeyBackfillBatch batches;
+
+    @Resource
+    private ManagedExecutorService executor;
+
+    void onStartup(@Observes @Initialized(ApplicationScoped.class) Object event) {
+        try {
+            int versioned = batches.initializeVersions();
+            if (versioned > 0) {
+                LOG.infof("Versão inicial atribuída a %d fornecedores", versioned);
+            }
+        } catch (RuntimeException ex) {
+            LOG.error("Versão inicial não atribuída; será tentada na próxima inicialização", ex);
+        }
+        try {
+            executor.submit(this::run);
+        } catch (RejectedExecutionException ex) {
+            LOG.warn("Preenchimento das chaves naturais não agendado; será tentado na próxima inicialização", ex);
+        }
+    }
+
+    void run() {
+        try {
+            long lastId = 0;
+            int updated = 0;
+            NaturalKeyBackfillBatch.Step step;
+            while ((step = batches.next(lastId, BATCH_SIZE)).rows() > 0) {
+                lastId = step.lastId();
+                updated += step.updated();
+            }
+            if (updated > 0) {
+                LOG.infof("Chaves naturais preenchidas em %d campos de fornecedores", updated);
+            }
+        } catch (RuntimeException ex) {
+            LOG.error("Preenchimento das chaves naturais interrompido; será retomado na próxima inicialização", ex);
+        }
+    }
+}
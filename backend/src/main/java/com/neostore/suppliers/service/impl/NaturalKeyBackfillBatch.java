@@ -0,0 +1,112 @@
+package com.neostore.suppliers.service.impl;
+
+import com.neostore.suppliers.model.Supplier;
+import com.neostore.suppliers.repository.SupplierRepository;
+import com.neostore.suppliers.util.CnpjFormatter;
+import com.neostore.suppliers.util.EmailNormalizer;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.jboss.logging.Logger;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Um passo do preenchimento das chaves naturais (ver {@link NaturalKeyBackfill}), cada um
+ * em sua própria transação curta.
+ */
+@ApplicationScoped
+public class NaturalKeyBackfillBatch {
+
+    private static final Logger LOG = Logger.getLogger(NaturalKeyBackfillBatch.class);
+
+    /**
+     * Resultado de um lote.
+     * @param rows    fornecedores lidos (0 quando não há mais o que preencher)
+     * @param lastId  maior ID lido, ponto de partida do próximo lote
+     * @param updated campos preenchidos
+     */
+    public record Step(int rows, long lastId, int updated) {}
+
+    @Inject
+    private SupplierRepository repository;
+
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public int initializeVersions() {
+        return repository.initializeVersions();
+    }
+
+    /**
+     * Preenche as chaves dos próximos fornecedores após {@code afterId}. Uma chave que já
+     * pertence a outro fornecedor (duplicidades antigas) ou um CNPJ inválido fica vazio e o
+     * registro é marcado (ver {@link Supplier#markNaturalKeysSkipped}), para não ser relido
+     * a cada inicialização; os demais campos derivados são preenchidos mesmo assim.
+     */
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public Step next(long afterId, int limit) {
+        List<Supplier> batch = repository.findWithoutNaturalKeys(afterId, limit);
+        if (batch.isEmpty()) {
+            return new Step(0, afterId, 0);
+        }
+        Set<Long> cnpjKeys = new HashSet<>();
+        Set<String> emailKeys = new HashSet<>();
+        for (Supplier supplier : batch) {
+            Long cnpjKey = CnpjFormatter.toKey(supplier.getCnpj());
+            if (supplier.getCnpjKey() == null && cnpjKey != null) {
+                cnpjKeys.add(cnpjKey);
+            }
+            if (supplier.getEmailKey() == null) {
+                emailKeys.add(EmailNormalizer.normalize(supplier.getEmail()));
+            }
+        }
+        Set<Long> takenCnpjs = new HashSet<>();
+        Set<String> takenEmails = new HashSet<>();
+        for (Supplier existing : repository.findByCnpjKeyInOrEmailKeyIn(cnpjKeys, emailKeys)) {
+            takenCnpjs.add(existing.getCnpjKey());
+            takenEmails.add(existing.getEmailKey());
+        }
+
+        int updated = 0;
+        for (Supplier supplier : batch) {
+            boolean skipped = false;
+            if (supplier.getNameKey() == null) {
+                supplier.setName(supplier.getName());
+                updated++;
+            }
+            if (supplier.getCnpjKey() == null) {
+                Long key = CnpjFormatter.toKey(supplier.getCnpj());
+                if (key != null && takenCnpjs.add(key)) {
+                    supplier.fillCnpjKey();
+                    updated++;
+                } else {
+                    skipped = true;
+                    LOG.warnf("Fornecedor %d sem chave de CNPJ (inválido ou duplicado): %s",
+                            supplier.getId(), supplier.getCnpj());
+                }
+            }
+            if (supplier.getEmailKey() == null) {
+                if (takenEmails.add(EmailNormalizer.normalize(supplier.getEmail()))) {
+                    supplier.setEmail(supplier.getEmail());
+                    updated++;
+                } else {
+                    skipped = true;
+                    LOG.warnf("Fornecedor %d sem chave de e-mail (duplicado): %s",
+                            supplier.getId(), supplier.getEmail());
+                }
+            }
+            if (supplier.getEmailDomain() == null) {
+                supplier.fillEmailDomain();
+                updated++;
+            }
+            if (skipped) {
+                supplier.markNaturalKeysSkipped();
+            }
+        }
+        long lastId = batch.get(batch.size() - 1).getId();
+        // As entidades do lote não precisam continuar gerenciadas até o commit
+        repository.flushAndClear();
+        return new Step(batch.size(), lastId, updated);
+    }
+}
@@ -0,0 +1,83 @@
+package com.neostore.suppliers.service.impl;
+
+import com.neostore.suppliers.api.payload.ImportError;
+import com.neostore.suppliers.dto.SupplierDTO;
+import com.neostore.suppliers.mapper.SupplierMapper;
+import com.neostore.suppliers.model.Supplier;
+import com.neostore.suppliers.repository.SupplierRepository;
+import com.neostore.suppliers.service.SuppliersChanged;
+import com.neostore.suppliers.util.CnpjFormatter;
+import com.neostore.suppliers.util.EmailNormalizer;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Grava um lote de importação em sua própria transação.
+ */
+@ApplicationScoped
+public class SupplierImportChunkWriter {
+
+    @Inject
+    private SupplierRepository repository;
+
+    @Inject
+    private Event<SuppliersChanged> changes;
+
+    /**
+     * Resolve a unicidade de CNPJ e e-mail do lote inteiro com uma única consulta
+     * e insere os registros restantes em um lote JDBC. Registros repetidos dentro
+     * do próprio lote também são rejeitados; o primeiro vence. CNPJs e e-mails são
+     * comparados pelas chaves normalizadas, então "Foo@Bar.com" colide com "foo@bar.com"
+     * e máscaras diferentes do mesmo CNPJ colidem entre si.
+     *
+     * @param rows registros validados do lote
+     * @return erros dos registros que colidem com fornecedores já cadastrados
+     */
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public List<ImportError> write(List<ImportRow> rows) {
+        Set<Long> cnpjKeys = new HashSet<>();
+        Set<String> emailKeys = new HashSet<>();
+        for (ImportRow row : rows) {
+            cnpjKeys.add(CnpjFormatter.toKey(row.supplier().cnpj()));
+            emailKeys.add(EmailNormalizer.normalize(row.supplier().email()));
+        }
+
+        Set<Long> takenCnpjs = new HashSet<>();
+        Set<String> takenEmails = new HashSet<>();
+        for (Supplier existing : repository.findByCnpjKeyInOrEmailKeyIn(cnpjKeys, emailKeys)) {
+            takenCnpjs.add(existing.getCnpjKey());
+            takenEmails.add(existing.getEmailKey());
+        }
+
+        List<ImportError> errors = new ArrayList<>();
+        List<Supplier> toInsert = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            Supplier entity = SupplierMapper.toEntity(row.supplier());
+            if (takenCnpjs.contains(entity.getCnpjKey())) {
+                errors.add(new ImportError(row.index(), row.supplier(), "CNPJ já cadastrado"));
+            } else if (takenEmails.contains(entity.getEmailKey())) {
+                errors.add(new ImportError(row.index(), row.supplier(), "E-mail já cadastrado"));
+            } else {
+                takenCnpjs.add(entity.getCnpjKey());
+                takenEmails.add(entity.getEmailKey());
+                toInsert.add(entity);
+            }
+        }
+        List<Long> ids = repository.saveAll(toInsert);
+        List<SupplierDTO> saved = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Supplier entity = toInsert.get(i);
+            saved.add(new SupplierDTO(ids.get(i), entity.getName(), entity.getEmail(),
+                    entity.getDescription(), entity.getCnpj()));
+        }
+        changes.fire(SuppliersChanged.saved(saved));
+        return errors;
+    }
+}
@@ -0,0 +1,175 @@
+package com.neostore.suppliers.service.impl;
+
+import com.neostore.suppliers.api.payload.ImportError;
+import com.neostore.suppliers.api.payload.ImportJobStatus;
+import com.neostore.suppliers.api.payload.ImportResult;
+import com.neostore.suppliers.dto.SupplierDTO;
+import com.neostore.suppliers.exception.ResourceNotFoundException;
+import com.neostore.suppliers.exception.TooManyRequestsException;
+import com.neostore.suppliers.metrics.MetricsRegistry;
+import com.neostore.suppliers.service.ImportListener;
+import com.neostore.suppliers.service.ImportSession;
+import com.neostore.suppliers.service.SupplierImportService;
+import com.neostore.suppliers.service.SupplierService;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.concurrent.ManagedExecutorService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.validation.Validator;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+@ApplicationScoped
+public class SupplierImportServiceImpl implements SupplierImportService {
+
+    /**
+     * Tamanho padrão do lote; pode ser alterado pela propriedade de sistema
+     * {@code neostore.import.chunk-size}.
+     */
+    static final int DEFAULT_CHUNK_SIZE = Integer.getInteger("neostore.import.chunk-size", 500);
+
+    /** Limite superior do lote, mantém as listas do IN dentro do suportado pelos bancos. */
+    static final int MAX_CHUNK_SIZE = 1000;
+
+    /**
+     * Jobs executando ao mesmo tempo ({@code neostore.import.max-concurrent-jobs}); mantém
+     * threads do executor gerenciado livres para o restante da aplicação.
+     */
+    static final int MAX_CONCURRENT_JOBS = Integer.getInteger("neostore.import.max-concurrent-jobs", 2);
+
+    /** Tempo que um job finalizado continua consultável ({@code neostore.import.job-retention-minutes}). */
+    static final Duration JOB_RETENTION =
+            Duration.ofMinutes(Long.getLong("neostore.import.job-retention-minutes", 60));
+
+    private final Semaphore jobPermits = new Semaphore(MAX_CONCURRENT_JOBS);
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    @Resource
+    private ManagedExecutorService executor;
+
+    @Inject
+    private Validator validator;
+
+    @Inject
+    private SupplierImportChunkWriter writer;
+
+    @Inject
+    private SupplierService service;
+
+    @Inject
+    private MetricsRegistry metrics;
+
+    @Override
+    public ImportResult importAll(List<SupplierDTO> suppliers) {
+        return importAll(suppliers, DEFAULT_CHUNK_SIZE);
+    }
+
+    @Override
+    public ImportResult importAll(List<SupplierDTO> suppliers, int chunkSize) {
+        ImportResult result = new ImportResult();
+        if (suppliers == null || suppliers.isEmpty()) {
+            return result;
+        }
+        ImportListener collector = new ImportListener() {
+            @Override
+            public void imported(int index) {
+                result.imported++;
+            }
+
+            @Override
+            public void failed(int index, SupplierDTO supplier, String error) {
+                result.errors.add(new ImportError(index, supplier, error));
+            }
+        };
+        try (ImportSession session = openSession(chunkSize, collector)) {
+            suppliers.forEach(session::add);
+        }
+        result.errors.sort(Comparator.comparingInt(ImportError::index));
+        return result;
+    }
+
+    @Override
+    public ImportSession openSession(Integer chunkSize, ImportListener listener) {
+        int size = chunkSize == null ? DEFAULT_CHUNK_SIZE : chunkSize;
+        int safeChunkSize = Math.min(Math.max(1, size), MAX_CHUNK_SIZE);
+        return new ChunkedImportSession(validator, writer, service, metrics, safeChunkSize, listener);
+    }
+
+    @Override
+    public ImportJobStatus submitJob(List<SupplierDTO> suppliers, Integer chunkSize) {
+        purgeExpiredJobs();
+        if (!jobPermits.tryAcquire()) {
+            throw new TooManyRequestsException("Limite de importações simultâneas atingido");
+        }
+        ImportJob job = new ImportJob(suppliers == null ? List.of() : suppliers);
+        jobs.put(job.id(), job);
+        try {
+            job.attach(executor.submit(() -> runJob(job, chunkSize)));
+        } catch (RejectedExecutionException ex) {
+            jobs.remove(job.id());
+            jobPermits.release();
+            throw new TooManyRequestsException("Executor de importações indisponível");
+        }
+        return job.snapshot();
+    }
+
+    @Override
+    public ImportJobStatus getJob(String jobId) {
+        return findJobOrThrow(jobId).snapshot();
+    }
+
+    @Override
+    public ImportJobStatus cancelJob(String jobId) {
+        ImportJob job = findJobOrThrow(jobId);
+        if (job.cancel()) {
+            // Cancelado ainda na fila: runJob não executará para devolver a permissão
+            jobPermits.release();
+        }
+        return job.snapshot();
+    }
+
+    private void runJob(ImportJob job, Integer chunkSize) {
+        try {
+            job.start();
+            ImportJob.State finalState = ImportJob.State.COMPLETED;
+            String failure = null;
+            try (ImportSession session = openSession(chunkSize, job)) {
+                for (SupplierDTO dto : job.takeSuppliers()) {
+                    if (job.isCancelRequested()) {
+                        break;
+                    }
+                    session.add(dto);
+                }
+            } catch (RuntimeException ex) {
+                finalState = ImportJob.State.FAILED;
+                failure = ex.getMessage();
+            }
+            if (finalState == ImportJob.State.COMPLETED && job.isCancelRequested()) {
+                finalState = ImportJob.State.CANCELLED;
+            }
+            job.finish(finalState, failure);
+        } finally {
+            jobPermits.release();
+        }
+    }
+
+    private ImportJob findJobOrThrow(String jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Import job", jobId);
+        }
+        return job;
+    }
+
+    private void purgeExpiredJobs() {
+        Instant limit = Instant.now().minus(JOB_RETENTION);
+        jobs.values().removeIf(job -> job.isFinished() && job.finishedAt().isBefore(limit));
+    }
+}
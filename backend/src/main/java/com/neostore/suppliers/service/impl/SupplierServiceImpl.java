@@ -1,70 +1,372 @@
 package com.neostore.suppliers.service.impl;
 
-import com.neostore.suppliers.api.payload.FieldError;
+import com.neostore.suppliers.api.payload.BulkResult;
+import com.neostore.suppliers.api.payload.BulkUpdateRequest;
+import com.neostore.suppliers.api.payload.CursorPage;
+import com.neostore.suppliers.api.payload.LookupRequest;
+import com.neostore.suppliers.api.payload.LookupResponse;
+import com.neostore.suppliers.api.payload.LookupResult;
+import com.neostore.suppliers.api.payload.NameSuggestion;
+import com.neostore.suppliers.api.payload.PagedResponse;
+import com.neostore.suppliers.api.payload.SimilarSupplier;
 import com.neostore.suppliers.dto.SupplierDTO;
+import com.neostore.suppliers.dto.Versioned;
+import com.neostore.suppliers.exception.ApiException;
 import com.neostore.suppliers.exception.BusinessRuleException;
+import com.neostore.suppliers.exception.InvalidRequestException;
+import com.neostore.suppliers.exception.PreconditionFailedException;
 import com.neostore.suppliers.exception.ResourceNotFoundException;
+import com.neostore.suppliers.exception.ServiceUnavailableException;
+import com.neostore.suppliers.exception.UniqueConstraintTranslator;
+import com.neostore.suppliers.jfr.Recorded;
 import com.neostore.suppliers.mapper.SupplierMapper;
 import com.neostore.suppliers.model.Supplier;
+import com.neostore.suppliers.repository.PageResult;
+import com.neostore.suppliers.repository.SupplierFilter;
 import com.neostore.suppliers.repository.SupplierRepository;
+import com.neostore.suppliers.repository.SupplierSort;
+import com.neostore.suppliers.search.InvertedIndex;
+import com.neostore.suppliers.search.SearchIndexLoader;
+import com.neostore.suppliers.search.SupplierNameIndex;
+import com.neostore.suppliers.search.SupplierSearchIndex;
+import com.neostore.suppliers.search.SupplierSimilarityIndex;
+import com.neostore.suppliers.search.TrigramIndex;
 import com.neostore.suppliers.service.SupplierService;
+import com.neostore.suppliers.service.SuppliersChanged;
+import com.neostore.suppliers.service.TableVersion;
+import com.neostore.suppliers.util.CnpjFormatter;
+import com.neostore.suppliers.util.Cursor;
+import com.neostore.suppliers.util.EmailNormalizer;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.PersistenceException;
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
 
 @ApplicationScoped
+@Recorded
 public class SupplierServiceImpl implements SupplierService {
 
+    /** Tamanho máximo de página na paginação por cursor. */
+    static final int MAX_CURSOR_LIMIT = 500;
+
+    /** Máximo de IDs (ou chaves, na busca em lote) por operação em lote. */
+    static final int MAX_BULK_IDS = 10_000;
+
+    /** Tamanho máximo de página na busca textual. */
+    static final int MAX_SEARCH_PAGE_SIZE = 100;
+
+    /** Resultados da busca textual alcançáveis paginando. */
+    static final int MAX_SEARCH_DEPTH = 1_000;
+
+    /** Máximo de sugestões do autocompletar. */
+    static final int MAX_SUGGESTIONS = 50;
+
+    /** Registros lidos por consulta durante a exportação. */
+    static final int EXPORT_PAGE_SIZE = 1_000;
+
+    /** Máximo de possíveis duplicatas por consulta. */
+    static final int MAX_SIMILAR = 20;
+
     @Inject
     private SupplierRepository repository;
 
+    @Inject
+    private SupplierSearchIndex searchIndex;
+
+    @Inject
+    private SupplierNameIndex nameIndex;
+
+    @Inject
+    private SupplierSimilarityIndex similarityIndex;
+
+    @Inject
+    private SearchIndexLoader indexes;
+
+    @Inject
+    private TableVersionTracker tableVersion;
+
+    @Inject
+    private Event<SuppliersChanged> changes;
+
     @Transactional
     @Override
     public SupplierDTO create(@Valid SupplierDTO dto) {
-        checkCnpjUnique(dto.cnpj(), null);
-        checkEmailUnique(dto.email(), null);
+        // A unicidade de CNPJ e e-mail é garantida pelas restrições do banco
         Supplier entity = SupplierMapper.toEntity(dto);
-        Supplier saved = repository.save(entity);
-        return SupplierMapper.toDTO(saved);
+        try {
+            SupplierDTO saved = SupplierMapper.toDTO(repository.save(entity));
+            changes.fire(SuppliersChanged.saved(List.of(saved)));
+            return saved;
+        } catch (PersistenceException ex) {
+            throw UniqueConstraintTranslator.translate(ex, dto.cnpj(), dto.email()).orElseThrow(() -> ex);
+        }
     }
 
     @Transactional
     @Override
-    public SupplierDTO update(Long id, @Valid SupplierDTO dto) {
+    public Versioned<SupplierDTO> update(Long id, @Valid SupplierDTO dto, Long expectedVersion) {
         Supplier existing = findEntityOrThrow(id);
-        checkCnpjUnique(dto.cnpj(), id);
-        checkEmailUnique(dto.email(), id);
+        checkVersion(existing, expectedVersion);
         existing.setName(dto.name());
-        existing.setEmail(dto.email());
         existing.setDescription(dto.description());
-        existing.setCnpj(dto.cnpj());
-        Supplier updated = repository.update(existing);
-        return SupplierMapper.toDTO(updated);
+        // Chaves inalteradas não entram no UPDATE e não reverificam as restrições únicas
+        if (!Objects.equals(existing.getEmail(), dto.email())) {
+            existing.setEmail(dto.email());
+        }
+        if (!Objects.equals(existing.getCnpj(), dto.cnpj())) {
+            existing.setCnpj(dto.cnpj());
+        }
+        try {
+            Supplier updated = repository.update(existing);
+            SupplierDTO result = SupplierMapper.toDTO(updated);
+            changes.fire(SuppliersChanged.saved(List.of(result)));
+            return Versioned.of(result, updated.getVersion());
+        } catch (OptimisticLockException ex) {
+            throw concurrentChange(id, expectedVersion);
+        } catch (PersistenceException ex) {
+            throw UniqueConstraintTranslator.translate(ex, dto.cnpj(), dto.email()).orElseThrow(() -> ex);
+        }
     }
 
     @Transactional
     @Override
-    public void delete(Long id) {
-        findEntityOrThrow(id);
-        repository.delete(id);
+    public void delete(Long id, Long expectedVersion) {
+        // A mesma entidade verificada é removida, sem uma segunda busca
+        Supplier existing = findEntityOrThrow(id);
+        checkVersion(existing, expectedVersion);
+        try {
+            repository.delete(existing);
+            changes.fire(SuppliersChanged.deleted(List.of(id)));
+        } catch (OptimisticLockException ex) {
+            throw concurrentChange(id, expectedVersion);
+        }
     }
 
+    /**
+     * Um DELETE por bloco de IDs; IDs inexistentes são reportados e não interrompem o lote.
+     */
+    @Transactional
     @Override
-    public SupplierDTO findById(Long id) {
-        return repository.findById(id)
-                .map(SupplierMapper::toDTO)
+    public BulkResult deleteAll(List<Long> ids) {
+        Set<Long> unique = uniqueIds(ids);
+        List<Long> missing = missingIds(unique);
+        int deleted = repository.deleteAllById(unique);
+        unique.removeAll(missing);
+        changes.fire(SuppliersChanged.deleted(unique));
+        return new BulkResult(deleted, missing);
+    }
+
+    /**
+     * Um UPDATE por bloco de IDs, alterando apenas os campos informados.
+     */
+    @Transactional
+    @Override
+    public BulkResult updateAll(@Valid BulkUpdateRequest request) {
+        if (request.name() == null && request.description() == null) {
+            throw new InvalidRequestException("name", "Informe name e/ou description para alterar");
+        }
+        if (request.name() != null && request.name().isBlank()) {
+            throw new InvalidRequestException("name", "O nome é obrigatório");
+        }
+        if (request.description() != null && request.description().isBlank()) {
+            throw new InvalidRequestException("description", "A descrição não pode ser vazia");
+        }
+        Set<Long> unique = uniqueIds(request.ids());
+        List<Long> missing = missingIds(unique);
+        int updated = repository.updateAll(unique, request.name(), request.description());
+        unique.removeAll(missing);
+        // Os índices em memória precisam dos valores gravados, não só dos campos alterados
+        changes.fire(SuppliersChanged.saved(repository.findDtosByIds(unique)));
+        return new BulkResult(updated, missing);
+    }
+
+    @Override
+    public Versioned<SupplierDTO> findById(Long id) {
+        return repository.findDtoById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Supplier", id));
     }
 
+    /**
+     * Uma consulta IN por tipo de chave (em blocos, para listas grandes). Chaves repetidas
+     * são consultadas uma vez; CNPJs mal formados e e-mails vazios voltam como não encontrados.
+     */
     @Override
-    public List<SupplierDTO> findAll(int page, int pageSize) {
-        return repository.findAll(page, pageSize).stream()
-                .map(SupplierMapper::toDTO)
-                .collect(Collectors.toList());
+    public LookupResponse lookup(LookupRequest request) {
+        List<Long> ids = request.ids() != null ? request.ids() : List.of();
+        List<String> cnpjs = request.cnpjs() != null ? request.cnpjs() : List.of();
+        List<String> emails = request.emails() != null ? request.emails() : List.of();
+        int total = ids.size() + cnpjs.size() + emails.size();
+        if (total == 0) {
+            throw new InvalidRequestException("ids", "Informe ao menos um id, CNPJ ou e-mail");
+        }
+        if (total > MAX_BULK_IDS) {
+            throw new InvalidRequestException("ids", "No máximo " + MAX_BULK_IDS + " chaves por consulta");
+        }
+
+        Map<Long, SupplierDTO> byId = new HashMap<>();
+        Set<Long> idKeys = new HashSet<>(ids);
+        idKeys.remove(null);
+        if (!idKeys.isEmpty()) {
+            repository.findDtosByIds(idKeys).forEach(dto -> byId.put(dto.id(), dto));
+        }
+
+        Map<Long, SupplierDTO> byCnpj = new HashMap<>();
+        Set<Long> cnpjKeys = new HashSet<>();
+        cnpjs.forEach(cnpj -> cnpjKeys.add(CnpjFormatter.toKey(cnpj)));
+        cnpjKeys.remove(null);
+        if (!cnpjKeys.isEmpty()) {
+            repository.findDtosByCnpjKeys(cnpjKeys).forEach(dto -> byCnpj.put(CnpjFormatter.toKey(dto.cnpj()), dto));
+        }
+
+        Map<String, SupplierDTO> byEmail = new HashMap<>();
+        Set<String> emailKeys = new HashSet<>();
+        for (String email : emails) {
+            if (email != null && !email.isBlank()) {
+                emailKeys.add(EmailNormalizer.normalize(email.trim()));
+            }
+        }
+        if (!emailKeys.isEmpty()) {
+            repository.findDtosByEmailKeys(emailKeys).forEach(dto -> byEmail.put(EmailNormalizer.normalize(dto.email()), dto));
+        }
+
+        List<LookupResult> results = new ArrayList<>(total);
+        ids.forEach(id -> results.add(LookupResult.of("id", id, id != null ? byId.get(id) : null)));
+        for (String cnpj : cnpjs) {
+            Long key = CnpjFormatter.toKey(cnpj);
+            results.add(LookupResult.of("cnpj", cnpj, key != null ? byCnpj.get(key) : null));
+        }
+        for (String email : emails) {
+            boolean valid = email != null && !email.isBlank();
+            results.add(LookupResult.of("email", email, valid ? byEmail.get(EmailNormalizer.normalize(email.trim())) : null));
+        }
+        int found = (int) results.stream().filter(LookupResult::found).count();
+        return new LookupResponse(results, found, results.size() - found);
+    }
+
+    @Override
+    public List<SupplierDTO> findAll(SupplierFilter filter, SupplierSort sort, int page, int pageSize) {
+        requireIndexed(filter, sort);
+        return repository.findAll(filter, sort, page, pageSize);
+    }
+
+    @Override
+    public PagedResponse<SupplierDTO> findPage(SupplierFilter filter, SupplierSort sort, int page, int pageSize,
+                                               boolean includeTotal) {
+        if (!includeTotal) {
+            return new PagedResponse<>(findAll(filter, sort, page, pageSize), null);
+        }
+        requireIndexed(filter, sort);
+        PageResult<SupplierDTO> result = repository.findPage(filter, sort, page, pageSize);
+        return new PagedResponse<>(result.content(), result.total());
+    }
+
+    @Override
+    public CursorPage<SupplierDTO> findAfter(SupplierFilter filter, SupplierSort sort, String cursor, int limit) {
+        requireIndexed(filter, sort);
+        int safeLimit = Math.min(Math.max(1, limit), MAX_CURSOR_LIMIT);
+        Cursor after = cursor == null || cursor.isBlank() ? null : decodeCursor(cursor, sort);
+
+        // Busca um registro a mais para saber se existe próxima página
+        List<SupplierDTO> rows = repository.findAfter(filter, sort, after, safeLimit + 1);
+        boolean hasMore = rows.size() > safeLimit;
+        List<SupplierDTO> page = hasMore ? rows.subList(0, safeLimit) : rows;
+        SupplierDTO last = hasMore ? page.get(page.size() - 1) : null;
+        String nextCursor = last != null
+                ? new Cursor(sort.key(), last.id(), sort.valueOf(last)).encode()
+                : null;
+        return new CursorPage<>(page, nextCursor);
+    }
+
+    /**
+     * Ranqueia pelo índice em memória e busca no banco só os fornecedores da página,
+     * mantendo a ordem de relevância.
+     */
+    @Override
+    public PagedResponse<SupplierDTO> search(String query, int page, int pageSize) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidRequestException("q", "Informe o texto da busca");
+        }
+        requireIndexes();
+        int safePage = Math.max(1, page);
+        int safePageSize = Math.min(Math.max(1, pageSize), MAX_SEARCH_PAGE_SIZE);
+        if ((long) safePage * safePageSize > MAX_SEARCH_DEPTH) {
+            throw new InvalidRequestException("page",
+                    "A busca alcança apenas os " + MAX_SEARCH_DEPTH + " resultados mais relevantes");
+        }
+        InvertedIndex.Page hits = searchIndex.search(query, (safePage - 1) * safePageSize, safePageSize);
+        if (hits.hits().isEmpty()) {
+            return new PagedResponse<>(List.of(), (long) hits.total());
+        }
+        List<Long> ids = hits.hits().stream().map(InvertedIndex.Hit::id).toList();
+        Map<Long, SupplierDTO> byId = new HashMap<>();
+        repository.findDtosByIds(ids).forEach(dto -> byId.put(dto.id(), dto));
+        List<SupplierDTO> content = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            // Removido entre a busca e a leitura: fica de fora
+            SupplierDTO dto = byId.get(id);
+            if (dto != null) {
+                content.add(dto);
+            }
+        }
+        return new PagedResponse<>(content, (long) hits.total());
+    }
+
+    /**
+     * Atendido pelo índice de nomes em memória, sem consulta ao banco.
+     */
+    @Override
+    public List<NameSuggestion> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            throw new InvalidRequestException("prefix", "Informe o início do nome");
+        }
+        requireIndexes();
+        int safeLimit = Math.min(Math.max(1, limit), MAX_SUGGESTIONS);
+        return nameIndex.suggest(prefix, safeLimit).stream()
+                .map(entry -> new NameSuggestion(entry.id(), entry.name()))
+                .toList();
+    }
+
+    /**
+     * Candidatos vêm do índice de trigramas em memória; só os encontrados são lidos do
+     * banco, na ordem de semelhança.
+     */
+    @Override
+    public List<SimilarSupplier> similar(Long id, int limit) {
+        requireIndexes();
+        SupplierDTO supplier = findById(id).value();
+        int safeLimit = Math.min(Math.max(1, limit), MAX_SIMILAR);
+        // Um a mais, pois o próprio fornecedor é o mais parecido
+        List<TrigramIndex.Match> matches = similarityIndex.similar(supplier.name(), safeLimit + 1).stream()
+                .filter(match -> match.id() != id)
+                .limit(safeLimit)
+                .toList();
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, SupplierDTO> byId = new HashMap<>();
+        repository.findDtosByIds(matches.stream().map(TrigramIndex.Match::id).toList())
+                .forEach(dto -> byId.put(dto.id(), dto));
+        List<SimilarSupplier> similar = new ArrayList<>(matches.size());
+        for (TrigramIndex.Match match : matches) {
+            SupplierDTO dto = byId.get(match.id());
+            if (dto != null) {
+                similar.add(new SimilarSupplier(match.similarity(), dto));
+            }
+        }
+        return similar;
     }
 
     @Override
@@ -72,30 +374,135 @@ public class SupplierServiceImpl implements SupplierService {
         return repository.count();
     }
 
+    @Override
+    public TableVersion tableVersion() {
+        return tableVersion.current();
+    }
+
+    /**
+     * As mesmas verificações de {@link #findPage} e {@link #findAfter}, sem consultar o
+     * banco: o recurso as faz antes das pré-condições, para que parâmetros inválidos
+     * respondam 400 e não 304.
+     */
+    @Override
+    public void validateListing(SupplierFilter filter, SupplierSort sort, String cursor) {
+        requireIndexed(filter, sort);
+        if (cursor != null && !cursor.isBlank()) {
+            decodeCursor(cursor, sort);
+        }
+    }
+
+    /**
+     * Páginas por chave em ordem de ID, cada consulta executada à parte, sem transação
+     * aberta entre elas: nenhuma transação ou conexão fica presa enquanto um cliente lento
+     * consome a resposta, e o tempo limite de transação não corta a exportação. Não é
+     * um retrato único da tabela: registros incluídos durante a exportação com ID maior
+     * que o último lido também saem.
+     */
+    @Override
+    public long exportAll(Consumer<SupplierDTO> consumer) {
+        long count = 0;
+        Cursor after = null;
+        List<SupplierDTO> page;
+        while (!(page = repository.findAfter(SupplierFilter.NONE, SupplierSort.ID, after, EXPORT_PAGE_SIZE)).isEmpty()) {
+            page.forEach(consumer);
+            count += page.size();
+            after = new Cursor(SupplierSort.ID.key(), page.get(page.size() - 1).id(), null);
+        }
+        return count;
+    }
+
+    /** Os índices em memória só atendem depois de montados (ver {@link SearchIndexLoader}). */
+    private void requireIndexes() {
+        if (!indexes.isReady()) {
+            throw new ServiceUnavailableException("Índices de busca em carga; tente novamente em instantes");
+        }
+    }
+
     private Supplier findEntityOrThrow(Long id) {
         return repository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Supplier", id));
     }
 
-    private void checkCnpjUnique(String cnpj, Long ignoreId) {
-        repository.findByCnpj(cnpj)
-                .filter(s -> ignoreId == null || !s.getId().equals(ignoreId))
-                .ifPresent(s -> {
-                    throw new BusinessRuleException(
-                            "CNPJ já cadastrado",
-                            List.of(new FieldError("cnpj", "CNPJ já cadastrado: " + cnpj))
-                    );
-                });
-    }
-
-    private void checkEmailUnique(String email, Long ignoreId) {
-        repository.findByEmail(email)
-                .filter(s -> ignoreId == null || !s.getId().equals(ignoreId))
-                .ifPresent(s -> {
-                    throw new BusinessRuleException(
-                            "E-mail já cadastrado",
-                            List.of(new FieldError("email", "E-mail já cadastrado: " + email))
-                    );
-                });
+    private static Set<Long> uniqueIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new InvalidRequestException("ids", "Informe ao menos um id");
+        }
+        Set<Long> unique = new LinkedHashSet<>(ids);
+        unique.remove(null);
+        if (unique.isEmpty()) {
+            throw new InvalidRequestException("ids", "Informe ao menos um id");
+        }
+        if (unique.size() > MAX_BULK_IDS) {
+            throw new InvalidRequestException("ids", "No máximo " + MAX_BULK_IDS + " ids por requisição");
+        }
+        return unique;
+    }
+
+    /** IDs ausentes do banco, na ordem em que foram enviados. */
+    private List<Long> missingIds(Set<Long> ids) {
+        Set<Long> existing = new HashSet<>(repository.findExistingIds(ids));
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            if (!existing.contains(id)) {
+                missing.add(id);
+            }
+        }
+        return missing;
+    }
+
+    private void checkVersion(Supplier existing, Long expectedVersion) {
+        long current = Versioned.of(existing, existing.getVersion()).version();
+        if (expectedVersion != null && expectedVersion != current) {
+            throw new PreconditionFailedException(
+                    "Fornecedor " + existing.getId() + " está na versão " + current
+                            + ", não na versão " + expectedVersion);
+        }
+    }
+
+    /**
+     * Outra transação gravou o registro entre a leitura e a escrita. Com {@code If-Match}
+     * a resposta é 412, como se a versão já estivesse diferente na leitura; sem ele, 409.
+     */
+    private static ApiException concurrentChange(Long id, Long expectedVersion) {
+        String message = "Fornecedor " + id + " foi alterado por outra requisição";
+        return expectedVersion != null
+                ? new PreconditionFailedException(message)
+                : new BusinessRuleException(message);
+    }
+
+    /**
+     * Recusa listagens que nenhum índice atende junto com a ordenação
+     * (ver {@link SupplierFilter#isIndexedWith}), que percorreriam a tabela inteira.
+     */
+    private static void requireIndexed(SupplierFilter filter, SupplierSort sort) {
+        if (filter.isIndexedWith(sort)) {
+            return;
+        }
+        if (filter.namePrefix() == null && filter.emailDomain() == null && filter.cnpjPrefix() == null) {
+            throw new InvalidRequestException("description",
+                    "Combine o trecho da descrição com nome, domínio ou CNPJ, ou use /search");
+        }
+        throw new InvalidRequestException("sort",
+                "Com filtro de nome ou CNPJ sem domínio, ordene por " + filter.defaultSort().key());
+    }
+
+    /**
+     * O cursor só vale para a ordenação que o gerou; fora dela, a posição não faz sentido.
+     */
+    private Cursor decodeCursor(String token, SupplierSort sort) {
+        try {
+            Cursor cursor = Cursor.decode(token);
+            if (sort.key().equals(cursor.sort()) && (sort == SupplierSort.ID || cursor.value() != null)) {
+                if (sort == SupplierSort.CNPJ) {
+                    // A chave de CNPJ é comparada como número
+                    Long.parseLong(cursor.value());
+                }
+                return cursor;
+            }
+        } catch (IllegalArgumentException ex) {
+            // tratado abaixo
+        }
+        throw new InvalidRequestException("after", "Cursor inválido: " + token);
     }
 }
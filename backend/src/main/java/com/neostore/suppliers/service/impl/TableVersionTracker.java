@@ -0,0 +1,31 @@
+package com.neostore.suppliers.service.impl;
+
+import com.neostore.suppliers.service.SuppliersChanged;
+import com.neostore.suppliers.service.TableVersion;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Conta as gravações de fornecedores confirmadas, sem consultar o banco: a versão da
+ * tabela custa uma leitura em memória. Como os índices em memória (ver
+ * {@link com.neostore.suppliers.search.SupplierSearchIndex}), só enxerga o que é gravado
+ * por este nó; o instante da inicialização entra na versão para que um contador
+ * reiniciado não repita versões anteriores.
+ */
+@ApplicationScoped
+public class TableVersionTracker {
+
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicLong generation = new AtomicLong();
+
+    void onChange(@Observes(during = TransactionPhase.AFTER_SUCCESS) SuppliersChanged change) {
+        generation.incrementAndGet();
+    }
+
+    public TableVersion current() {
+        return new TableVersion(epoch, generation.get());
+    }
+}
@@ -0,0 +1,52 @@
+package com.neostore.suppliers.util;
+
+/**
+ * Conversão entre o CNPJ como digitado e sua chave canônica numérica (os 14 dígitos
+ * como long), usada para unicidade e buscas; e da chave para a máscara de exibição.
+ */
+public final class CnpjFormatter {
+
+    private static final int DIGITS = 14;
+
+    private CnpjFormatter() {}
+
+    /**
+     * Extrai a chave numérica, ignorando os separadores da máscara.
+     * Não valida dígitos verificadores (ver {@link CnpjValidator}).
+     *
+     * @return os 14 dígitos como long, ou null se a entrada não tiver exatamente 14 dígitos
+     */
+    public static Long toKey(String cnpj) {
+        if (cnpj == null) return null;
+        long key = 0;
+        int digits = 0;
+        for (int i = 0; i < cnpj.length(); i++) {
+            char c = cnpj.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (++digits > DIGITS) return null;
+                key = key * 10 + (c - '0');
+            } else if (c != '.' && c != '/' && c != '-') {
+                return null;
+            }
+        }
+        return digits == DIGITS ? key : null;
+    }
+
+    /**
+     * Formata a chave na máscara 00.000.000/0000-00, com zeros à esquerda.
+     */
+    public static String format(long key) {
+        if (key < 0 || key > 99_999_999_999_999L) {
+            throw new IllegalArgumentException("Chave de CNPJ fora do intervalo: " + key);
+        }
+        char[] out = "00.000.000/0000-00".toCharArray();
+        long rest = key;
+        for (int i = out.length - 1; i >= 0; i--) {
+            if (out[i] == '0') {
+                out[i] = (char) ('0' + rest % 10);
+                rest /= 10;
+            }
+        }
+        return new String(out);
+    }
+}
@@ -1,66 +1,94 @@
 package com.neostore.suppliers.util;
 
-import java.text.Normalizer;
-import java.util.regex.Pattern;
-
 public class CnpjValidator {
 
-    // Apenas dígitos, ponto, barra e hífen, sem espaços em nenhuma posição
-    private static final Pattern CNPJ_ALLOWED = Pattern.compile("^[0-9./-]+$");
-    // Unicode invisível
-    private static final Pattern INVISIBLE_UNICODE = Pattern.compile("[\\u200B-\\u200D\\uFEFF\\u200E\\u200F\\u202A-\\u202E\\u2060\\u202F\\u3000]");
-    // Apenas dígitos
-    private static final Pattern DIGITS_ONLY = Pattern.compile("\\d+");
-    // Máscara padrão e puro
-    private static final Pattern CNPJ_MASKED = Pattern.compile("^\\d{2}\\.\\d{3}\\.\\d{3}/\\d{4}-\\d{2}$");
-    private static final Pattern CNPJ_UNMASKED = Pattern.compile("^\\d{14}$");
+    // Pesos do segundo dígito verificador; o primeiro usa os mesmos a partir da posição 1
+    private static final int[] WEIGHTS = {6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
 
-    public static boolean isValid(String input) {
-        if (input == null || input.isEmpty()) return false;
+    private static final int UNMASKED_LENGTH = 14;
+    private static final int MASKED_LENGTH = 18;
 
-        // Rejeita qualquer caractere não-ASCII (inclusive fullwidth digits e homoglifos)
-        if (!input.chars().allMatch(c -> c < 128)) return false;
+    /**
+     * Aceita apenas o formato puro (14 dígitos) ou a máscara padrão 00.000.000/0000-00.
+     * Percorre a entrada uma única vez, sem criar objetos: qualquer caractere fora
+     * do layout (não-ASCII, whitespace, invisíveis Unicode, letras) invalida na hora.
+     */
+    public static boolean isValid(String input) {
+        if (input == null) return false;
 
-        // Normaliza Unicode para evitar caracteres invisíveis disfarçados
-        String normalized = Normalizer.normalize(input, Normalizer.Form.NFKC);
+        int length = input.length();
+        boolean masked;
+        if (length == UNMASKED_LENGTH) {
+            masked = false;
+        } else if (length == MASKED_LENGTH) {
+            masked = true;
+        } else {
+            return false;
+        }
 
-        // Rejeita qualquer caractere invisível Unicode
-        if (INVISIBLE_UNICODE.matcher(normalized).find()) return false;
+        int digitCount = 0;
+        int sum1 = 0;
+        int sum2 = 0;
+        int firstDigit = -1;
+        boolean allEqual = true;
+        int check1 = 0;
 
-        // Não permite nenhum whitespace em nenhuma posição
-        if (normalized.matches(".*\\s.*")) return false;
+        for (int i = 0; i < length; i++) {
+            char c = input.charAt(i);
 
-        // Só permite dígitos e os caracteres . / -
-        if (!CNPJ_ALLOWED.matcher(normalized).matches()) return false;
+            // Separadores da máscara: 00.000.000/0000-00
+            if (masked) {
+                char separator = maskSeparatorAt(i);
+                if (separator != 0) {
+                    if (c != separator) return false;
+                    continue;
+                }
+            }
 
-        // Só aceita formato puro ou máscara padrão
-        if (!CNPJ_UNMASKED.matcher(normalized).matches() && !CNPJ_MASKED.matcher(normalized).matches()) return false;
+            if (c < '0' || c > '9') return false;
+            int digit = c - '0';
 
-        // Remove máscara (mantém apenas os números)
-        String cnpj = normalized.replaceAll("\\D", "");
-        if (!DIGITS_ONLY.matcher(cnpj).matches()) return false;
-        if (cnpj.length() != 14) return false;
+            if (firstDigit == -1) {
+                firstDigit = digit;
+            } else if (digit != firstDigit) {
+                allEqual = false;
+            }
 
-        // Rejeita CNPJs com todos os dígitos iguais
-        if (cnpj.chars().distinct().count() == 1) return false;
+            if (digitCount < 12) {
+                sum1 += digit * WEIGHTS[digitCount + 1];
+            } else if (digitCount == 12) {
+                check1 = digit;
+            }
+            if (digitCount < 13) {
+                sum2 += digit * WEIGHTS[digitCount];
+            }
+            digitCount++;
 
-        // Validação dos dígitos verificadores
-        return hasValidCheckDigits(cnpj);
+            if (digitCount == UNMASKED_LENGTH) {
+                // Rejeita CNPJs com todos os dígitos iguais
+                if (allEqual) return false;
+                return check1 == checkDigit(sum1) && digit == checkDigit(sum2);
+            }
+        }
+        return false;
     }
 
-    private static boolean hasValidCheckDigits(String cnpj) {
-        int[] weight = {6,5,4,3,2,9,8,7,6,5,4,3,2};
-        int sum = 0;
-        for (int i = 0; i < 12; i++) {
-            sum += Character.getNumericValue(cnpj.charAt(i)) * weight[i + 1];
-        }
-        int digit1 = sum % 11 < 2 ? 0 : 11 - (sum % 11);
-        sum = 0;
-        for (int i = 0; i < 13; i++) {
-            sum += Character.getNumericValue(cnpj.charAt(i)) * weight[i];
+    private static char maskSeparatorAt(int position) {
+        switch (position) {
+            case 2:
+            case 6:
+                return '.';
+            case 10:
+                return '/';
+            case 15:
+                return '-';
+            default:
+                return 0;
         }
-        int digit2 = sum % 11 < 2 ? 0 : 11 - (sum % 11);
-        return digit1 == Character.getNumericValue(cnpj.charAt(12)) &&
-                digit2 == Character.getNumericValue(cnpj.charAt(13));
     }
-}
\ No newline at end of file
+
+    private static int checkDigit(int sum) {
+        int remainder = sum % 11;
+        return remainder < 2 ? 0 : 11 - remainder;
+    }
+}
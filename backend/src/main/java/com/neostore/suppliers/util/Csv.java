@@ -0,0 +1,72 @@
+package com.neostore.suppliers.util;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Escrita de linhas CSV (RFC 4180): campos separados por vírgula, linhas terminadas
+ * em CRLF e aspas apenas nos campos que contêm vírgula, aspas ou quebra de linha.
+ * Campos que planilhas interpretariam como fórmula (iniciados por {@code = + - @},
+ * tabulação ou retorno de carro) recebem um apóstrofo na frente.
+ */
+public final class Csv {
+
+    private Csv() {}
+
+    /**
+     * Escreve uma linha completa; campos null saem vazios.
+     */
+    public static void writeRow(Writer out, String... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            writeField(out, fields[i]);
+        }
+        out.write("\r\n");
+    }
+
+    private static void writeField(Writer out, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (isFormula(value)) {
+            // Injeção de fórmula: o apóstrofo faz a planilha tratar o campo como texto
+            value = "'" + value;
+        }
+        if (!needsQuotes(value)) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == '"') {
+                // Aspas internas são duplicadas
+                out.write(value, start, i + 1 - start);
+                out.write('"');
+                start = i + 1;
+            }
+        }
+        out.write(value, start, value.length() - start);
+        out.write('"');
+    }
+
+    private static boolean isFormula(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        char first = value.charAt(0);
+        return first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r';
+    }
+
+    private static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
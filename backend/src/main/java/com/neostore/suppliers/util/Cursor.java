@@ -0,0 +1,53 @@
+package com.neostore.suppliers.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Posição de paginação por chave (keyset): a chave de ordenação, o ID do último registro
+ * entregue e, para ordenações diferentes de ID, o valor da chave nesse registro.
+ * Trafega como texto opaco em Base64 URL-safe.
+ */
+public record Cursor(String sort, long id, String value) {
+
+    private static final char SEPARATOR = '|';
+
+    public Cursor {
+        if (sort == null || sort.isEmpty() || sort.indexOf(SEPARATOR) != -1) {
+            throw new IllegalArgumentException("Chave de ordenação inválida: " + sort);
+        }
+    }
+
+    /**
+     * Serializa o cursor no formato opaco enviado ao cliente.
+     */
+    public String encode() {
+        String raw = value == null
+                ? sort + SEPARATOR + id
+                : sort + SEPARATOR + id + SEPARATOR + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reconstrói um cursor gerado por {@link #encode()}.
+     * @throws IllegalArgumentException se o texto não for um cursor válido
+     */
+    public static Cursor decode(String token) {
+        if (token == null || token.isEmpty()) {
+            throw new IllegalArgumentException("Cursor vazio");
+        }
+        String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        int first = raw.indexOf(SEPARATOR);
+        if (first <= 0) {
+            throw new IllegalArgumentException("Cursor inválido: " + token);
+        }
+        int second = raw.indexOf(SEPARATOR, first + 1);
+        String idPart = second == -1 ? raw.substring(first + 1) : raw.substring(first + 1, second);
+        String value = second == -1 ? null : raw.substring(second + 1);
+        try {
+            return new Cursor(raw.substring(0, first), Long.parseLong(idPart), value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Cursor inválido: " + token, ex);
+        }
+    }
+}
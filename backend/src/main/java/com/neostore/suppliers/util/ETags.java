@@ -0,0 +1,49 @@
+package com.neostore.suppliers.util;
+
+/**
+ * Valores de ETag derivados de versões de registros. Os valores não incluem aspas;
+ * {@link jakarta.ws.rs.core.EntityTag} as acrescenta ao montar o cabeçalho.
+ */
+public final class ETags {
+
+    private ETags() {}
+
+    /**
+     * ETag de um registro: a própria versão em decimal.
+     */
+    public static String of(long version) {
+        return Long.toString(version);
+    }
+
+    /**
+     * ETag composta, com as partes em hexadecimal separadas por hífen.
+     */
+    public static String of(long... parts) {
+        StringBuilder tag = new StringBuilder(parts.length * 8);
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                tag.append('-');
+            }
+            tag.append(Long.toHexString(parts[i]));
+        }
+        return tag.toString();
+    }
+
+    /**
+     * Lê a versão de uma ETag forte gerada por {@link #of(long)}, como enviada em {@code If-Match}.
+     * O sufixo da representação ({@code "3-cbor-gzip"}) é ignorado: todas têm a mesma versão.
+     * @throws IllegalArgumentException se não for uma única ETag forte com uma versão
+     */
+    public static long parseVersion(String header) {
+        String tag = header == null ? "" : header.trim();
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            throw new IllegalArgumentException("ETag inválida: " + header);
+        }
+        int end = tag.indexOf('-');
+        try {
+            return Long.parseLong(tag.substring(1, end == -1 ? tag.length() - 1 : end));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("ETag inválida: " + header, ex);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.neostore.suppliers.util;
+
+import java.util.Locale;
+
+/**
+ * Forma canônica de e-mail usada para unicidade: domínio sempre em minúsculas e,
+ * se configurado, também o local-part. Também calcula o hash de 64 bits dessa forma,
+ * gravado em coluna de largura fixa para buscas por igualdade baratas.
+ */
+public final class EmailNormalizer {
+
+    /**
+     * Se o local-part também é convertido para minúsculas
+     * ({@code neostore.email.fold-local-part}, padrão true).
+     */
+    public static final boolean FOLD_LOCAL_PART =
+            Boolean.parseBoolean(System.getProperty("neostore.email.fold-local-part", "true"));
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private EmailNormalizer() {}
+
+    /**
+     * Normaliza usando a configuração da aplicação.
+     */
+    public static String normalize(String email) {
+        return normalize(email, FOLD_LOCAL_PART);
+    }
+
+    /**
+     * @param email          e-mail como informado
+     * @param foldLocalPart  se o local-part também deve ir para minúsculas
+     * @return forma canônica, ou null se email for null
+     */
+    public static String normalize(String email, boolean foldLocalPart) {
+        if (email == null) return null;
+        if (foldLocalPart) {
+            return email.toLowerCase(Locale.ROOT);
+        }
+        int at = email.lastIndexOf('@');
+        if (at == -1) {
+            return email;
+        }
+        return email.substring(0, at + 1) + email.substring(at + 1).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Domínio em minúsculas, usado no filtro por domínio.
+     *
+     * @return o texto após o último {@code @}, ou null se não houver
+     */
+    public static String domain(String email) {
+        if (email == null) return null;
+        int at = email.lastIndexOf('@');
+        return at == -1 ? null : email.substring(at + 1).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Hash FNV-1a de 64 bits dos bytes UTF-16LE da forma canônica; estável entre
+     * execuções, pois é persistido.
+     */
+    public static long hash(String normalizedEmail) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < normalizedEmail.length(); i++) {
+            char c = normalizedEmail.charAt(i);
+            hash ^= c & 0xff;
+            hash *= FNV_PRIME;
+            hash ^= c >>> 8;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
@@ -1,61 +1,75 @@
 package com.neostore.suppliers.util;
 
-import java.util.regex.Pattern;
-
 public class EmailValidator {
+
+    private static final int MAX_LENGTH = 100;
+    private static final int MAX_LOCAL_LENGTH = 64;
+    private static final int MAX_LABEL_LENGTH = 63;
+    private static final int MIN_TLD_LENGTH = 2;
+    private static final int MAX_TLD_LENGTH = 20;
+
     // Permite todos ASCII printable exceto ! # espaço @ " ( ) , : ; < > [ ] \ no local-part
-    private static final Pattern EMAIL_PATTERN = Pattern.compile(
-            "^(?![.])([a-zA-Z0-9$%&'*+/=?^_`{|}~.-]+)@([a-zA-Z0-9\\-]+\\.)+([a-zA-Z]{2,20})$"
-    );
-    // Unicode invisível (ZWSP, BOM, LRM, etc)
-    private static final Pattern INVISIBLE_UNICODE = Pattern.compile(
-            "[\\u200B-\\u200D\\uFEFF\\u200E\\u200F\\u202A-\\u202E\\u2060\\u202F\\u3000]"
-    );
-    // Proibidos no local-part por RFC e pelos testes
     private static final String LOCAL_PROHIBITED = "!# @\"(),:;<>[]\\";
+    private static final boolean[] LOCAL_ALLOWED = new boolean[128];
 
+    static {
+        for (char c = 33; c < 127; c++) {
+            LOCAL_ALLOWED[c] = LOCAL_PROHIBITED.indexOf(c) == -1;
+        }
+    }
+
+    /**
+     * Valida em uma única passada, sem regex nem alocações: custo linear no tamanho da
+     * entrada e limitado a {@value #MAX_LENGTH} caracteres. Qualquer caractere fora dos
+     * conjuntos permitidos (não-ASCII, whitespace, invisíveis Unicode) invalida na hora.
+     */
     public static boolean isValid(String email) {
-        if (email == null || email.isEmpty()) return false;
-        if (!email.equals(email.trim())) return false;
-        if (email.matches(".*[\\s\\t\\n\\r].*")) return false;
-        if (INVISIBLE_UNICODE.matcher(email).find()) return false;
-        if (email.chars().filter(c -> c == '@').count() != 1) return false;
-        if (!email.chars().allMatch(c -> c < 128)) return false;
-        if (email.length() > 100) return false;
-
-        int at = email.indexOf('@');
-        if (at == -1) return false;
-        String local = email.substring(0, at);
-        String domain = email.substring(at + 1);
-
-        // Limite do local-part: 1 a 64 caracteres
-        if (local.length() < 1 || local.length() > 64) return false;
-
-        // Demais validações do local-part
-        for (char c : local.toCharArray()) {
-            if (c < 33 || c > 126) return false;
-            if (LOCAL_PROHIBITED.indexOf(c) != -1) return false;
+        if (email == null) return false;
+        int length = email.length();
+        if (length == 0 || length > MAX_LENGTH) return false;
+
+        // Local-part: 1 a 64 caracteres permitidos, sem ponto no início, no fim ou repetido
+        int at = 0;
+        char previous = 0;
+        for (; at < length; at++) {
+            char c = email.charAt(at);
+            if (c == '@') break;
+            if (c >= 128 || !LOCAL_ALLOWED[c]) return false;
+            if (c == '.' && (at == 0 || previous == '.')) return false;
+            previous = c;
         }
-        if (local.startsWith(".") || local.endsWith(".")) return false;
-        if (local.contains("..")) return false;
-        if (local.contains(" ")) return false;
-
-        // Regex final (garante formato geral)
-        if (!EMAIL_PATTERN.matcher(email).matches()) return false;
-
-        // Checagem extra de TLD
-        int lastDot = domain.lastIndexOf('.');
-        if (lastDot == -1) return false;
-        String tld = domain.substring(lastDot + 1);
-        if (tld.length() < 2 || tld.length() > 20) return false;
-
-        // Checagem de labels do domínio
-        String[] labels = domain.split("\\.");
-        for (String label : labels) {
-            if (label.isEmpty()) return false;
-            if (label.startsWith("-") || label.endsWith("-")) return false;
-            if (label.length() > 63) return false;
+        if (at == length || at == 0 || at > MAX_LOCAL_LENGTH) return false;
+        if (previous == '.') return false;
+
+        // Domínio: labels [A-Za-z0-9-] de 1 a 63 caracteres, sem hífen nas pontas,
+        // ao menos dois labels e o último (TLD) só com 2 a 20 letras
+        int labelStart = at + 1;
+        int completedLabels = 0;
+        boolean lettersOnly = true;
+        previous = 0;
+        for (int i = labelStart; i < length; i++) {
+            char c = email.charAt(i);
+            if (c == '.') {
+                int labelLength = i - labelStart;
+                if (labelLength == 0 || labelLength > MAX_LABEL_LENGTH || previous == '-') return false;
+                completedLabels++;
+                labelStart = i + 1;
+                lettersOnly = true;
+            } else if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+                // letra: válida em qualquer label
+            } else if ((c >= '0' && c <= '9') || c == '-') {
+                if (c == '-' && i == labelStart) return false;
+                lettersOnly = false;
+            } else {
+                return false;
+            }
+            previous = c;
         }
-        return true;
+
+        int tldLength = length - labelStart;
+        return completedLabels > 0
+                && lettersOnly
+                && tldLength >= MIN_TLD_LENGTH
+                && tldLength <= MAX_TLD_LENGTH;
     }
-}
\ No newline at end of file
+}
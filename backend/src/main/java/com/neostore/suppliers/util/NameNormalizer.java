@@ -0,0 +1,46 @@
+package com.neostore.suppliers.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Forma canônica de nome usada em filtros e ordenação: minúsculas, sem acentos e com
+ * espaços internos reduzidos a um, de modo que "Móveis  São João" e "moveis sao joao"
+ * tenham a mesma chave.
+ */
+public final class NameNormalizer {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private NameNormalizer() {}
+
+    /**
+     * @return forma canônica, ou null se name for null
+     */
+    public static String normalize(String name) {
+        if (name == null) return null;
+        return SPACES.matcher(fold(name).strip()).replaceAll(" ");
+    }
+
+    /**
+     * Apenas minúsculas e sem acentos, preservando os espaços.
+     *
+     * @return texto convertido, ou null se text for null
+     */
+    public static String fold(String text) {
+        if (text == null) return null;
+        String lower = text.toLowerCase(Locale.ROOT);
+        return isAscii(lower)
+                ? lower
+                : MARKS.matcher(Normalizer.normalize(lower, Normalizer.Form.NFD)).replaceAll("");
+    }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 0x80) return false;
+        }
+        return true;
+    }
+}
@@ -1,5 +1,7 @@
 package com.neostore.suppliers.validation;
 
+import com.neostore.suppliers.jfr.ValidationEvent;
+import com.neostore.suppliers.metrics.RequestTimings;
 import com.neostore.suppliers.util.CnpjValidator;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
@@ -15,13 +17,28 @@ public class CnpjValidatorBean implements ConstraintValidator<Cnpj, String> {
 
     @Override
     public boolean isValid(String value, ConstraintValidatorContext context) {
-        if (CnpjValidator.isValid(value)) {
-            return true;
+        ValidationEvent event = new ValidationEvent();
+        event.begin();
+        long start = RequestTimings.start();
+        boolean valid = false;
+        try {
+            valid = CnpjValidator.isValid(value);
+            if (valid) {
+                return true;
+            }
+            // Customiza a mensagem incluindo o valor inválido
+            context.disableDefaultConstraintViolation();
+            context.buildConstraintViolationWithTemplate("CNPJ inválido: " + value)
+                    .addConstraintViolation();
+            return false;
+        } finally {
+            RequestTimings.record("validation", "cnpj", start);
+            if (event.shouldCommit()) {
+                event.validator = "cnpj";
+                event.inputLength = value != null ? value.length() : -1;
+                event.valid = valid;
+                event.commit();
+            }
         }
-        // Customiza a mensagem incluindo o valor inválido
-        context.disableDefaultConstraintViolation();
-        context.buildConstraintViolationWithTemplate("CNPJ inválido: " + value)
-                .addConstraintViolation();
-        return false;
     }
 }
\ No newline at end of file
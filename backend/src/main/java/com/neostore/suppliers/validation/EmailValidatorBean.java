@@ -1,5 +1,7 @@
 package com.neostore.suppliers.validation;
 
+import com.neostore.suppliers.jfr.ValidationEvent;
+import com.neostore.suppliers.metrics.RequestTimings;
 import com.neostore.suppliers.util.EmailValidator;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
@@ -7,6 +9,21 @@ import jakarta.validation.ConstraintValidatorContext;
 public class EmailValidatorBean implements ConstraintValidator<Email, String> {
     @Override
     public boolean isValid(String value, ConstraintValidatorContext context) {
-        return EmailValidator.isValid(value);
+        ValidationEvent event = new ValidationEvent();
+        event.begin();
+        long start = RequestTimings.start();
+        boolean valid = false;
+        try {
+            valid = EmailValidator.isValid(value);
+            return valid;
+        } finally {
+            RequestTimings.record("validation", "email", start);
+            if (event.shouldCommit()) {
+                event.validator = "email";
+                event.inputLength = value != null ? value.length() : -1;
+                event.valid = valid;
+                event.commit();
+            }
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.neostore.suppliers.api;
+
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Variant;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A escolha do tipo é da implementação JAX-RS; aqui a requisição devolve uma variante fixa.
+ */
+public class RepresentationsTest {
+
+    private static final MediaType SMILE = MediaTypes.APPLICATION_SMILE_TYPE;
+    private static final MediaType CBOR = MediaTypes.APPLICATION_CBOR_TYPE;
+
+    // As variantes oferecidas seguem @Produces; sem tipo aceitável a resposta é JSON
+    @Test
+    void testNegotiate() {
+        List<MediaType> offered = new ArrayList<>();
+        Assertions.assertEquals(CBOR, Representations.negotiate(request(CBOR, offered)));
+        Assertions.assertEquals(List.of(MediaType.APPLICATION_JSON_TYPE, SMILE, CBOR), offered);
+        Assertions.assertEquals(MediaType.APPLICATION_JSON_TYPE, Representations.negotiate(request(null, offered)));
+    }
+
+    // Cada combinação de tipo e compressão tem sua própria ETag; JSON sem compressão fica sem sufixo
+    @Test
+    void testSuffix() {
+        Assertions.assertEquals("", Representations.suffix(MediaType.APPLICATION_JSON_TYPE, false));
+        Assertions.assertEquals("-gzip", Representations.suffix(MediaType.APPLICATION_JSON_TYPE, true));
+        Assertions.assertEquals("-smile", Representations.suffix(SMILE, false));
+        Assertions.assertEquals("-cbor-gzip", Representations.suffix(CBOR, true));
+    }
+
+    /**
+     * @param selected tipo da variante escolhida, ou null se nenhuma for aceitável
+     * @param offered  recebe os tipos oferecidos a {@code selectVariant}
+     */
+    @SuppressWarnings("unchecked")
+    private static Request request(MediaType selected, List<MediaType> offered) {
+        return (Request) Proxy.newProxyInstance(Request.class.getClassLoader(), new Class<?>[] {Request.class},
+                (proxy, method, args) -> {
+                    offered.clear();
+                    ((List<Variant>) args[0]).forEach(variant -> offered.add(variant.getMediaType()));
+                    return selected != null ? new Variant(selected, (String) null, null) : null;
+                });
+    }
+}
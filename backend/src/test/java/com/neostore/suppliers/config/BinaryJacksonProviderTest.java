@@ -0,0 +1,55 @@
+package com.neostore.suppliers.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.neostore.suppliers.dto.SupplierDTO;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+
+public class BinaryJacksonProviderTest {
+
+    private static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+    private static final MediaType CBOR = new MediaType("application", "cbor");
+    private static final SupplierDTO SUPPLIER =
+            new SupplierDTO(1L, "Fornecedor A", "a@exemplo.com", "Móveis", "12.345.678/0001-95");
+
+    private static byte[] write(MediaType type) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new BinaryJacksonProvider().writeTo(SUPPLIER, SupplierDTO.class, SupplierDTO.class,
+                new Annotation[0], type, new MultivaluedHashMap<>(), out);
+        return out.toByteArray();
+    }
+
+    // Só Smile e CBOR; corpos já prontos (streams, bytes, texto) ficam com outros providers
+    @Test
+    void testIsWriteable() {
+        BinaryJacksonProvider provider = new BinaryJacksonProvider();
+        Annotation[] none = new Annotation[0];
+        Assertions.assertTrue(provider.isWriteable(SupplierDTO.class, SupplierDTO.class, none, SMILE));
+        Assertions.assertTrue(provider.isWriteable(SupplierDTO.class, SupplierDTO.class, none, CBOR));
+        Assertions.assertFalse(provider.isWriteable(SupplierDTO.class, SupplierDTO.class, none, MediaType.APPLICATION_JSON_TYPE));
+        Assertions.assertFalse(provider.isWriteable(SupplierDTO.class, SupplierDTO.class, none, null));
+        Assertions.assertFalse(provider.isWriteable(StreamingOutput.class, StreamingOutput.class, none, SMILE));
+        Assertions.assertFalse(provider.isWriteable(InputStream.class, InputStream.class, none, SMILE));
+        Assertions.assertFalse(provider.isWriteable(byte[].class, byte[].class, none, CBOR));
+        Assertions.assertFalse(provider.isWriteable(String.class, String.class, none, CBOR));
+    }
+
+    // O corpo binário volta ao mesmo DTO lido pelo mapper do formato
+    @Test
+    void testRoundTrip() throws IOException {
+        ObjectMapper smile = new SmileMapper();
+        ObjectMapper cbor = new CBORMapper();
+        Assertions.assertEquals(SUPPLIER, smile.readValue(write(SMILE), SupplierDTO.class));
+        Assertions.assertEquals(SUPPLIER, cbor.readValue(write(CBOR), SupplierDTO.class));
+    }
+}
@@ -0,0 +1,83 @@
+package com.neostore.suppliers.config;
+
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import jakarta.ws.rs.core.MultivaluedMap;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+public class GzipWriterInterceptorTest {
+
+    private static byte[] gunzip(byte[] data) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return in.readAllBytes();
+        }
+    }
+
+    // gzip direto ou por *, sem diferenciar caixa; q=0 recusa
+    @Test
+    void testAcceptsGzip() {
+        Assertions.assertTrue(GzipWriterInterceptor.acceptsGzip("gzip"));
+        Assertions.assertTrue(GzipWriterInterceptor.acceptsGzip("deflate, GZIP;q=0.5, br"));
+        Assertions.assertTrue(GzipWriterInterceptor.acceptsGzip("*"));
+        Assertions.assertFalse(GzipWriterInterceptor.acceptsGzip("gzip;q=0"));
+        Assertions.assertFalse(GzipWriterInterceptor.acceptsGzip("gzip;q=abc"));
+        Assertions.assertFalse(GzipWriterInterceptor.acceptsGzip("deflate, br"));
+        Assertions.assertFalse(GzipWriterInterceptor.acceptsGzip("x-gzip2"));
+        Assertions.assertFalse(GzipWriterInterceptor.acceptsGzip(null));
+    }
+
+    // Até o limite o corpo sai como veio, sem Content-Encoding, mesmo com flush no meio
+    @Test
+    void testBelowThreshold() throws IOException {
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
+        headers.putSingle(HttpHeaders.CONTENT_LENGTH, 10);
+        GzipWriterInterceptor.ThresholdGzipStream out =
+                new GzipWriterInterceptor.ThresholdGzipStream(target, headers, 10);
+        out.write("abcde".getBytes());
+        out.flush();
+        Assertions.assertEquals(0, target.size());
+        out.write('f');
+        out.finish();
+        out.close();
+        Assertions.assertEquals("abcdef", target.toString());
+        Assertions.assertNull(headers.getFirst(HttpHeaders.CONTENT_ENCODING));
+        Assertions.assertEquals(10, headers.getFirst(HttpHeaders.CONTENT_LENGTH));
+    }
+
+    // Ao passar do limite o corpo inteiro sai comprimido e Content-Length é descartado
+    @Test
+    void testAboveThreshold() throws IOException {
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
+        headers.putSingle(HttpHeaders.CONTENT_LENGTH, 64);
+        GzipWriterInterceptor.ThresholdGzipStream out =
+                new GzipWriterInterceptor.ThresholdGzipStream(target, headers, 10);
+        byte[] body = new byte[64];
+        Arrays.fill(body, (byte) 'x');
+        out.write(body, 0, 8);
+        out.write(body, 8, 56);
+        out.finish();
+        Assertions.assertEquals("gzip", headers.getFirst(HttpHeaders.CONTENT_ENCODING));
+        Assertions.assertNull(headers.getFirst(HttpHeaders.CONTENT_LENGTH));
+        Assertions.assertArrayEquals(body, gunzip(target.toByteArray()));
+    }
+
+    // Vary acumula cabeçalhos sem repetir os já listados
+    @Test
+    void testVary() {
+        MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
+        headers.add(HttpHeaders.VARY, "Accept, accept-encoding");
+        GzipWriterInterceptor.vary(headers, HttpHeaders.ACCEPT_ENCODING);
+        GzipWriterInterceptor.vary(headers, "Origin");
+        Assertions.assertEquals(List.of("Accept, accept-encoding", "Origin"), headers.get(HttpHeaders.VARY));
+    }
+}
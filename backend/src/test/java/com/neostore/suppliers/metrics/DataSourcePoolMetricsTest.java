@@ -0,0 +1,58 @@
+package com.neostore.suppliers.metrics;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+
+/**
+ * Sem WildFly: uma MBean com os atributos do pool é registrada em um servidor JMX à parte.
+ */
+public class DataSourcePoolMetricsTest {
+
+    public interface PoolMBean {
+        int getInUseCount();
+        int getAvailableCount();
+        long getWaitCount();
+        long getTotalBlockingTime();
+        long getMaxWaitTime();
+        long getAverageGetTime();
+    }
+
+    public static class Pool implements PoolMBean {
+        public int getInUseCount() { return 18; }
+        public int getAvailableCount() { return 2; }
+        public long getWaitCount() { return 7; }
+        public long getTotalBlockingTime() { return 1250; }
+        public long getMaxWaitTime() { return 400; }
+        public long getAverageGetTime() { return 3; }
+    }
+
+    // Contagens por estado e esperas do pool, com os tempos convertidos de ms para segundos
+    @Test
+    void testExportsPoolWait() throws Exception {
+        MBeanServer server = MBeanServerFactory.newMBeanServer();
+        server.registerMBean(new Pool(), new ObjectName("jboss.as:subsystem=datasources,data-source=neostoreDS,statistics=pool"));
+
+        StringBuilder out = new StringBuilder();
+        DataSourcePoolMetrics.writeTo(out, server);
+        String text = out.toString();
+        Assertions.assertTrue(text.contains("datasource_pool_connections{data_source=\"neostoreDS\",state=\"in_use\"} 18\n"), text);
+        Assertions.assertTrue(text.contains("datasource_pool_connections{data_source=\"neostoreDS\",state=\"available\"} 2\n"), text);
+        Assertions.assertTrue(text.contains("datasource_pool_waits_total{data_source=\"neostoreDS\"} 7\n"), text);
+        Assertions.assertTrue(text.contains("datasource_pool_blocking_seconds_total{data_source=\"neostoreDS\"} 1.25\n"), text);
+        Assertions.assertTrue(text.contains("datasource_pool_wait_max_seconds{data_source=\"neostoreDS\"} 0.4\n"), text);
+        Assertions.assertTrue(text.contains("datasource_pool_get_average_seconds{data_source=\"neostoreDS\"} 0.003\n"), text);
+        Assertions.assertFalse(text.contains("datasource_pool_get_seconds_total"), text);
+    }
+
+    // Sem estatísticas habilitadas no datasource não há MBeans nem séries
+    @Test
+    void testWithoutPoolStatistics() {
+        StringBuilder out = new StringBuilder();
+        DataSourcePoolMetrics.writeTo(out, MBeanServerFactory.newMBeanServer());
+        Assertions.assertEquals("", out.toString());
+    }
+}
@@ -0,0 +1,59 @@
+package com.neostore.suppliers.metrics;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class MetricsRegistryTest {
+
+    // Faixas acumuladas, soma em segundos e contagem igual à faixa +Inf
+    @Test
+    void testHistogramText() {
+        MetricsRegistry registry = new MetricsRegistry();
+        Histogram histogram = registry.histogram("req_seconds", "Duração", "endpoint", "A#b");
+        histogram.observeNanos(500_000L);         // 0,5 ms
+        histogram.observeNanos(20_000_000L);      // 20 ms
+        histogram.observeNanos(60_000_000_000L);  // 60 s, acima do maior limite
+
+        String text = write(registry);
+        Assertions.assertTrue(text.startsWith("# HELP req_seconds Duração\n# TYPE req_seconds histogram\n"), text);
+        Assertions.assertTrue(text.contains("req_seconds_bucket{endpoint=\"A#b\",le=\"0.001\"} 1\n"), text);
+        Assertions.assertTrue(text.contains("req_seconds_bucket{endpoint=\"A#b\",le=\"0.025\"} 2\n"), text);
+        Assertions.assertTrue(text.contains("req_seconds_bucket{endpoint=\"A#b\",le=\"10.0\"} 2\n"), text);
+        Assertions.assertTrue(text.contains("req_seconds_bucket{endpoint=\"A#b\",le=\"+Inf\"} 3\n"), text);
+        Assertions.assertTrue(text.contains("req_seconds_sum{endpoint=\"A#b\"} 60.0205\n"), text);
+        Assertions.assertTrue(text.contains("req_seconds_count{endpoint=\"A#b\"} 3\n"), text);
+    }
+
+    // A mesma série é reutilizada; o cabeçalho sai uma vez por nome
+    @Test
+    void testCounterSeries() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("rows_total", "Registros", "outcome", "imported").add(5);
+        registry.counter("rows_total", "Registros", "outcome", "imported").increment();
+        registry.counter("rows_total", "Registros", "outcome", "failed").increment();
+
+        Assertions.assertEquals("""
+                # HELP rows_total Registros
+                # TYPE rows_total counter
+                rows_total{outcome="failed"} 1
+                rows_total{outcome="imported"} 6
+                """, write(registry));
+    }
+
+    // Valores de rótulo são escapados e tipos não podem ser trocados
+    @Test
+    void testLabelsAndTypes() {
+        Assertions.assertEquals("a=\"x\\\"y\\\\z\\n\"", PrometheusText.labels("a", "x\"y\\z\n"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> PrometheusText.labels("a"));
+
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("x_total", "X");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> registry.histogram("x_total", "X"));
+    }
+
+    private static String write(MetricsRegistry registry) {
+        StringBuilder out = new StringBuilder();
+        registry.writeTo(out);
+        return out.toString();
+    }
+}
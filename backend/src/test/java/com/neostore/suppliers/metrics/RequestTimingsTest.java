@@ -0,0 +1,44 @@
+package com.neostore.suppliers.metrics;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class RequestTimingsTest {
+
+    // Fases na ordem em que ocorreram, com descrição e repetições, e o total em "app"
+    @Test
+    void testServerTimingHeader() {
+        RequestTimings timings = RequestTimings.begin();
+        try {
+            timings.add("validation", "cnpj", 120_000L);
+            timings.add("validation", "cnpj", 80_000L);
+            timings.add("db", "findPage", 3_456_000L);
+            timings.add("mapping", null, 4_000L);
+
+            String header = timings.toServerTiming();
+            Assertions.assertTrue(header.startsWith(
+                    "validation;desc=\"cnpj x2\";dur=0.20, db;desc=\"findPage\";dur=3.46, mapping;dur=0.00, app;dur="),
+                    header);
+        } finally {
+            RequestTimings.end();
+        }
+    }
+
+    // Fora de uma requisição nada é medido
+    @Test
+    void testNoCurrentRequest() {
+        Assertions.assertNull(RequestTimings.current());
+        Assertions.assertEquals(0, RequestTimings.start());
+        RequestTimings.record("db", "findAll", 0);
+        Assertions.assertNull(RequestTimings.current());
+    }
+
+    // Milissegundos com duas casas, arredondados
+    @Test
+    void testMillis() {
+        Assertions.assertEquals("0.00", RequestTimings.millis(4_999L));
+        Assertions.assertEquals("0.01", RequestTimings.millis(5_000L));
+        Assertions.assertEquals("12.05", RequestTimings.millis(12_049_999L));
+        Assertions.assertEquals("1000.00", RequestTimings.millis(1_000_000_000L));
+    }
+}
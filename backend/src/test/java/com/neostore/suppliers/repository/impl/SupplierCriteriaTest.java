@@ -0,0 +1,222 @@
+package com.neostore.suppliers.repository.impl;
+
+import com.neostore.suppliers.model.Supplier;
+import com.neostore.suppliers.repository.SupplierFilter;
+import com.neostore.suppliers.repository.SupplierSort;
+import com.neostore.suppliers.util.Cursor;
+import jakarta.persistence.Column;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Sem banco nos testes, o plano de execução é verificado contra os índices declarados
+ * em {@link Supplier}: um mesmo índice precisa ter as colunas comparadas por igualdade no
+ * início, seguidas das colunas da ordenação, e a leitura precisa ser limitada por um
+ * filtro (igualdade, ou intervalo sobre a primeira coluna da ordenação).
+ */
+public class SupplierCriteriaTest {
+
+    private static final Pattern ATTRIBUTE = Pattern.compile("s\\.(\\w+)");
+    private static final Pattern WRAPPED = Pattern.compile("\\w+\\(s\\.(\\w+)\\)");
+    private static final Pattern EQUALITY = Pattern.compile("s\\.\\w+ = :\\w+");
+
+    /** Filtro sem índice possível, aplicado só sobre as linhas já selecionadas. */
+    private static final String RESIDUAL = "description";
+
+    // Nas combinações aceitas, um único índice seleciona as linhas e já as entrega na ordem;
+    // nas recusadas, nenhum índice faz as duas coisas
+    @Test
+    void testIndexCoversFilterAndOrder() {
+        List<List<String>> indexes = indexes();
+        for (SupplierFilter filter : allFilters()) {
+            for (SupplierSort sort : SupplierSort.values()) {
+                SupplierCriteria criteria = SupplierCriteria.of(filter, sort, null);
+                Assertions.assertEquals(filter.isIndexedWith(sort), isCovered(criteria, indexes),
+                        criteria.where() + criteria.orderBy());
+            }
+        }
+    }
+
+    // A ordenação padrão é sempre aceita; só a descrição não é aceita com nenhuma
+    @Test
+    void testDefaultSort() {
+        for (SupplierFilter filter : allFilters()) {
+            boolean residualOnly = filter.namePrefix() == null && filter.emailDomain() == null
+                    && filter.cnpjPrefix() == null && filter.description() != null;
+            Assertions.assertEquals(!residualOnly, filter.isIndexedWith(filter.defaultSort()), filter.toString());
+        }
+        Assertions.assertEquals(SupplierSort.NAME, new SupplierFilter("forn", null, "123", null).defaultSort());
+        Assertions.assertEquals(SupplierSort.CNPJ, new SupplierFilter(null, null, "123", "moveis").defaultSort());
+        Assertions.assertEquals(SupplierSort.ID, new SupplierFilter("forn", "exemplo.com", null, null).defaultSort());
+        Assertions.assertFalse(new SupplierFilter(null, null, null, "moveis").isIndexedWith(SupplierSort.ID));
+    }
+
+    // O cursor compara as mesmas colunas da ordenação, continuando no mesmo índice
+    @Test
+    void testCursorUsesOrderColumns() {
+        for (SupplierSort sort : SupplierSort.values()) {
+            SupplierCriteria criteria = SupplierCriteria.of(SupplierFilter.NONE, sort, cursor(sort));
+            Assertions.assertEquals(columns(criteria.orderBy()), columns(criteria.where()), criteria.where());
+        }
+        Assertions.assertEquals(12_345_678_000_190L,
+                SupplierCriteria.of(SupplierFilter.NONE, SupplierSort.CNPJ, cursor(SupplierSort.CNPJ))
+                        .parameters().get("afterValue"));
+    }
+
+    // Colunas indexadas não aparecem dentro de funções nem em LIKE com curinga inicial
+    @Test
+    void testPredicatesAreSargable() {
+        for (SupplierCriteria criteria : allCombinations()) {
+            Matcher wrapped = WRAPPED.matcher(criteria.where());
+            while (wrapped.find()) {
+                Assertions.assertEquals(RESIDUAL, wrapped.group(1), criteria.where());
+            }
+            criteria.parameters().forEach((name, value) -> {
+                if (!name.equals(RESIDUAL) && value instanceof String text) {
+                    Assertions.assertFalse(text.startsWith("%"), name + " = " + text);
+                }
+            });
+        }
+    }
+
+    // O prefixo de CNPJ vira um intervalo da chave numérica
+    @Test
+    void testCnpjPrefixRange() {
+        Map<String, Object> parameters = criteria(new SupplierFilter(null, null, "12.3", null)).parameters();
+        Assertions.assertEquals(12_300_000_000_000L, parameters.get("cnpjFrom"));
+        Assertions.assertEquals(12_400_000_000_000L, parameters.get("cnpjTo"));
+
+        parameters = criteria(new SupplierFilter(null, null, "12.345.678/0001-90", null)).parameters();
+        Assertions.assertEquals(12_345_678_000_190L, parameters.get("cnpjFrom"));
+        Assertions.assertEquals(12_345_678_000_191L, parameters.get("cnpjTo"));
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new SupplierFilter(null, null, "12a", null));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new SupplierFilter(null, null, "123456789012345", null));
+    }
+
+    // Entradas normalizadas e curingas digitados pelo usuário escapados
+    @Test
+    void testNormalizesAndEscapes() {
+        Map<String, Object> parameters =
+                criteria(new SupplierFilter("  Açaí_50% ", "@Exemplo.COM", " ", "Móveis%")).parameters();
+        Assertions.assertEquals("acai!_50!%%", parameters.get("namePrefix"));
+        Assertions.assertEquals("exemplo.com", parameters.get("emailDomain"));
+        Assertions.assertFalse(parameters.containsKey("cnpjFrom"));
+        Assertions.assertEquals("%móveis!%%", parameters.get("description"));
+
+        Assertions.assertTrue(new SupplierFilter(" ", "", null, "  ").isEmpty());
+        Assertions.assertEquals("", criteria(SupplierFilter.NONE).where());
+    }
+
+    private static SupplierCriteria criteria(SupplierFilter filter) {
+        return SupplierCriteria.of(filter, SupplierSort.ID, null);
+    }
+
+    private static List<SupplierFilter> allFilters() {
+        List<SupplierFilter> all = new ArrayList<>();
+        for (int mask = 0; mask < 16; mask++) {
+            all.add(new SupplierFilter(
+                    (mask & 1) != 0 ? "forn" : null,
+                    (mask & 2) != 0 ? "exemplo.com" : null,
+                    (mask & 4) != 0 ? "12345" : null,
+                    (mask & 8) != 0 ? "moveis" : null));
+        }
+        return all;
+    }
+
+    private static List<SupplierCriteria> allCombinations() {
+        List<SupplierCriteria> all = new ArrayList<>();
+        for (SupplierFilter filter : allFilters()) {
+            for (SupplierSort sort : SupplierSort.values()) {
+                all.add(SupplierCriteria.of(filter, sort, null));
+                all.add(SupplierCriteria.of(filter, sort, cursor(sort)));
+            }
+        }
+        return all;
+    }
+
+    private static Cursor cursor(SupplierSort sort) {
+        return new Cursor(sort.key(), 10L, sort == SupplierSort.CNPJ ? "12345678000190" : "valor");
+    }
+
+    /**
+     * Se algum índice tem as colunas comparadas por igualdade no início, seguidas das
+     * colunas da ordenação; com filtros, algum deles precisa limitar a leitura do índice.
+     */
+    private static boolean isCovered(SupplierCriteria criteria, List<List<String>> indexes) {
+        List<String> order = columns(criteria.orderBy());
+        Set<String> equalities = new LinkedHashSet<>();
+        Set<String> ranges = new LinkedHashSet<>();
+        List<String> predicates = predicates(criteria);
+        for (String predicate : predicates) {
+            List<String> columns = columns(predicate);
+            if (!columns.contains(RESIDUAL)) {
+                (EQUALITY.matcher(predicate).matches() ? equalities : ranges).addAll(columns);
+            }
+        }
+        if (!predicates.isEmpty() && equalities.isEmpty() && !ranges.contains(order.get(0))) {
+            return false;
+        }
+        int prefix = equalities.size();
+        return indexes.stream().anyMatch(index -> index.size() >= prefix + order.size()
+                && Set.copyOf(index.subList(0, prefix)).equals(equalities)
+                && index.subList(prefix, prefix + order.size()).equals(order));
+    }
+
+    private static List<String> predicates(SupplierCriteria criteria) {
+        if (criteria.where().isEmpty()) {
+            return List.of();
+        }
+        return Arrays.asList(criteria.where().substring(" WHERE ".length()).split(" AND "));
+    }
+
+    /** Colunas referenciadas, na ordem e sem repetição. */
+    private static List<String> columns(String clause) {
+        Set<String> columns = new LinkedHashSet<>();
+        Matcher matcher = ATTRIBUTE.matcher(clause);
+        while (matcher.find()) {
+            columns.add(column(matcher.group(1)));
+        }
+        return new ArrayList<>(columns);
+    }
+
+    private static String column(String attribute) {
+        try {
+            Field field = Supplier.class.getDeclaredField(attribute);
+            Column column = field.getAnnotation(Column.class);
+            return column != null && !column.name().isEmpty() ? column.name() : attribute;
+        } catch (NoSuchFieldException ex) {
+            throw new AssertionError("Atributo inexistente em Supplier: " + attribute, ex);
+        }
+    }
+
+    /** Chave primária, restrições únicas e índices declarados na entidade. */
+    private static List<List<String>> indexes() {
+        Table table = Supplier.class.getAnnotation(Table.class);
+        List<List<String>> indexes = new ArrayList<>();
+        indexes.add(List.of("id"));
+        for (UniqueConstraint constraint : table.uniqueConstraints()) {
+            indexes.add(List.of(constraint.columnNames()));
+        }
+        for (Index index : table.indexes()) {
+            indexes.add(Arrays.stream(index.columnList().split(",")).map(String::strip).toList());
+        }
+        return indexes;
+    }
+
+}
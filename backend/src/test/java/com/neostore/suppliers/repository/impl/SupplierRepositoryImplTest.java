@@ -0,0 +1,113 @@
+package com.neostore.suppliers.repository.impl;
+
+import com.neostore.suppliers.dto.SupplierDTO;
+import com.neostore.suppliers.dto.Versioned;
+import com.neostore.suppliers.model.Supplier;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.IdentifierLoadAccess;
+import org.hibernate.MultiIdentifierLoadAccess;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.NaturalIdResolutions;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.metamodel.spi.MappingMetamodelImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Sem banco: a sessão devolve as entidades como se lidas do cache ou da tabela.
+ */
+public class SupplierRepositoryImplTest {
+
+    // Registro anterior à coluna de versão, ainda sem versão: lido como a versão inicial
+    @Test
+    void testReadsRowWithoutVersion() throws Exception {
+        Supplier legacy = new Supplier();
+        legacy.setName("Fornecedor Antigo");
+        legacy.setEmail("antigo@empresa.com");
+        legacy.setDescription("Cadastrado antes do controle de versão");
+        legacy.setCnpj("12.345.678/0001-95");
+        Assertions.assertNull(legacy.getVersion());
+
+        Versioned<SupplierDTO> found = repository(legacy).findDtoById(1L).orElseThrow();
+        Assertions.assertEquals(0, found.version());
+        Assertions.assertEquals("Fornecedor Antigo", found.value().name());
+    }
+
+    // CNPJ já resolvido no cache de IDs naturais não vai ao banco; só o ausente é consultado
+    @Test
+    void testResolvesCnpjKeysFromNaturalIdCache() throws Exception {
+        Supplier cached = supplier(1L, "Papelaria Central", "11.222.333/0001-81");
+        Supplier stored = supplier(2L, "Gráfica Norte", "12.345.678/0001-95");
+        Map<Object, Object> resolutions = Map.of(cached.getCnpjKey(), cached.getId());
+        List<Object> queried = new ArrayList<>();
+
+        NaturalIdResolutions naturalIds = stub(NaturalIdResolutions.class, (proxy, method, args) ->
+                resolutions.get(args[0]));
+        PersistenceContext context = stub(PersistenceContext.class, (proxy, method, args) -> naturalIds);
+        EntityPersister persister = stub(EntityPersister.class, (proxy, method, args) -> null);
+        MappingMetamodelImplementor metamodel = stub(MappingMetamodelImplementor.class, (proxy, method, args) -> persister);
+        SessionFactoryImplementor factory = stub(SessionFactoryImplementor.class, (proxy, method, args) -> metamodel);
+        MultiIdentifierLoadAccess<?> byIds = stub(MultiIdentifierLoadAccess.class, (proxy, method, args) ->
+                method.getName().equals("multiLoad") ? List.of(cached) : proxy);
+        SessionImplementor session = stub(SessionImplementor.class, (proxy, method, args) -> switch (method.getName()) {
+            case "getFactory" -> factory;
+            case "getPersistenceContextInternal" -> context;
+            case "byMultipleIds" -> byIds;
+            default -> null;
+        });
+        TypedQuery<?> query = stub(TypedQuery.class, (proxy, method, args) -> {
+            if (method.getName().equals("setParameter")) {
+                queried.addAll((Collection<?>) args[1]);
+            }
+            return method.getName().equals("getResultList") ? List.of(stored) : proxy;
+        });
+        EntityManager em = stub(EntityManager.class, (proxy, method, args) ->
+                method.getName().equals("unwrap") ? session : query);
+
+        List<SupplierDTO> found = inject(em).findDtosByCnpjKeys(List.of(cached.getCnpjKey(), stored.getCnpjKey()));
+        Assertions.assertEquals(List.of(stored.getCnpjKey()), queried);
+        Assertions.assertEquals(Set.of(1L, 2L), found.stream().map(SupplierDTO::id).collect(Collectors.toSet()));
+    }
+
+    private static Supplier supplier(Long id, String name, String cnpj) throws Exception {
+        Supplier supplier = new Supplier(name, "contato@empresa.com", "Fornecedor de teste", cnpj);
+        Field field = Supplier.class.getDeclaredField("id");
+        field.setAccessible(true);
+        field.set(supplier, id);
+        return supplier;
+    }
+
+    private static SupplierRepositoryImpl repository(Supplier stored) throws Exception {
+        IdentifierLoadAccess<?> access = stub(IdentifierLoadAccess.class, (proxy, method, args) ->
+                method.getName().equals("load") ? stored : proxy);
+        Session session = stub(Session.class, (proxy, method, args) -> access);
+        return inject(stub(EntityManager.class, (proxy, method, args) -> session));
+    }
+
+    private static SupplierRepositoryImpl inject(EntityManager em) throws Exception {
+        SupplierRepositoryImpl repository = new SupplierRepositoryImpl();
+        Field field = SupplierRepositoryImpl.class.getDeclaredField("em");
+        field.setAccessible(true);
+        field.set(repository, em);
+        return repository;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<?> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+}
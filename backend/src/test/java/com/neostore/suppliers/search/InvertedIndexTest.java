@@ -0,0 +1,151 @@
+package com.neostore.suppliers.search;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+public class InvertedIndexTest {
+
+    private static InvertedIndex index() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, TextAnalyzer.terms("Móveis para escritório e cadeiras"));
+        index.put(2, TextAnalyzer.terms("Brindes corporativos"));
+        index.put(3, TextAnalyzer.terms("Escritório contábil"));
+        index.put(4, TextAnalyzer.terms("Móveis planejados"));
+        return index;
+    }
+
+    private static List<Long> ids(InvertedIndex.Page page) {
+        return page.hits().stream().map(InvertedIndex.Hit::id).toList();
+    }
+
+    // Só entram documentos com todos os termos; o texto mais curto pesa mais
+    @Test
+    void testRanking() {
+        InvertedIndex index = index();
+        Assertions.assertEquals(List.of(1L), ids(index.search(TextAnalyzer.terms("móvel escritório"), 0, 10)));
+
+        InvertedIndex.Page page = index.search(TextAnalyzer.terms("escritório"), 0, 10);
+        Assertions.assertEquals(2, page.total());
+        Assertions.assertEquals(List.of(3L, 1L), ids(page));
+        Assertions.assertTrue(page.hits().get(0).score() > page.hits().get(1).score());
+
+        Assertions.assertEquals(0, index.search(TextAnalyzer.terms("móveis usados"), 0, 10).total());
+        Assertions.assertEquals(0, index.search(List.of(), 0, 10).total());
+    }
+
+    // Páginas seguem a mesma ordem da lista completa
+    @Test
+    void testPagination() {
+        InvertedIndex index = new InvertedIndex();
+        for (long id = 1; id <= 20; id++) {
+            index.put(id, TextAnalyzer.terms("papel" + " sulfite".repeat((int) (id % 4))));
+        }
+        List<String> query = List.of("papel");
+        List<Long> all = ids(index.search(query, 0, 20));
+        Assertions.assertEquals(20, all.size());
+        Assertions.assertEquals(all.subList(0, 5), ids(index.search(query, 0, 5)));
+        Assertions.assertEquals(all.subList(5, 10), ids(index.search(query, 5, 5)));
+        Assertions.assertEquals(List.of(), ids(index.search(query, 25, 5)));
+        Assertions.assertEquals(20, index.search(query, 0, 0).total());
+    }
+
+    // A interseção salta corretamente entre listas de tamanhos muito diferentes
+    @Test
+    void testIntersection() {
+        InvertedIndex index = new InvertedIndex();
+        for (long id = 1; id <= 1000; id++) {
+            index.put(id, id % 97 == 0 ? List.of("caneta", "azul") : List.of("caneta"));
+        }
+        Assertions.assertEquals(List.of(97L, 194L, 291L, 388L, 485L, 582L, 679L, 776L, 873L, 970L),
+                ids(index.search(List.of("azul", "caneta"), 0, 20)).stream().sorted().toList());
+    }
+
+    // Alteração substitui os termos anteriores; remoção tira o documento
+    @Test
+    void testUpdateAndRemove() {
+        InvertedIndex index = index();
+        index.put(2, TextAnalyzer.terms("Cadeiras de escritório"));
+        Assertions.assertEquals(0, index.search(TextAnalyzer.terms("brindes"), 0, 10).total());
+        Assertions.assertEquals(List.of(1L, 2L), ids(index.search(TextAnalyzer.terms("cadeira"), 0, 10)).stream().sorted().toList());
+
+        index.remove(1);
+        index.remove(99);
+        Assertions.assertEquals(List.of(2L), ids(index.search(TextAnalyzer.terms("cadeira"), 0, 10)));
+        Assertions.assertEquals(3, index.size());
+    }
+
+    // Alterações em lote dão o mesmo índice que as mesmas alterações uma a uma
+    @Test
+    void testApplyMatchesSingleChanges() {
+        Random random = new Random(3);
+        String[] words = {"papel", "caneta", "moveis", "brindes", "cadeira", "mesa"};
+        InvertedIndex batched = new InvertedIndex();
+        InvertedIndex single = new InvertedIndex();
+        for (int round = 0; round < 30; round++) {
+            Map<Long, List<String>> saved = new HashMap<>();
+            List<Long> deleted = new ArrayList<>();
+            for (int change = random.nextInt(40); change > 0; change--) {
+                long id = 1 + random.nextInt(200);
+                if (random.nextInt(4) == 0) {
+                    deleted.add(id);
+                    continue;
+                }
+                List<String> terms = new ArrayList<>();
+                for (int w = random.nextInt(4); w > 0; w--) {
+                    terms.add(words[random.nextInt(words.length)]);
+                }
+                saved.put(id, terms);
+            }
+            deleted.removeAll(saved.keySet());
+            batched.apply(saved, deleted);
+            deleted.forEach(single::remove);
+            saved.forEach(single::put);
+
+            Assertions.assertEquals(single.size(), batched.size());
+            for (String word : words) {
+                List<String> query = List.of(word, words[random.nextInt(words.length)]);
+                Assertions.assertEquals(single.search(query, 0, 300), batched.search(query, 0, 300), query.toString());
+            }
+        }
+    }
+
+    // A interseção percorre em paralelo listas de tamanhos parecidos
+    @Test
+    void testDenseIntersection() {
+        InvertedIndex index = new InvertedIndex();
+        for (long id = 1; id <= 1000; id++) {
+            List<String> terms = new ArrayList<>();
+            if (id % 2 == 0) {
+                terms.add("papel");
+            }
+            if (id % 3 == 0) {
+                terms.add("caneta");
+            }
+            if (id % 5 == 0) {
+                terms.add("mesa");
+            }
+            index.put(id, terms);
+        }
+        Assertions.assertEquals(166, index.search(List.of("papel", "caneta"), 0, 0).total());
+        List<Long> ids = ids(index.search(List.of("mesa", "caneta", "papel"), 0, 100)).stream().sorted().toList();
+        Assertions.assertEquals(LongStream.rangeClosed(1, 33).map(i -> i * 30).boxed().toList(), ids);
+    }
+
+    // IDs fora de ordem e termos desconhecidos
+    @Test
+    void testOutOfOrderIds() {
+        InvertedIndex index = new InvertedIndex();
+        for (long id : new long[] {50, 10, 30, 20, 40}) {
+            index.put(id, List.of("papel"));
+        }
+        Assertions.assertEquals(List.of(10L, 20L, 30L, 40L, 50L), ids(index.search(List.of("papel"), 0, 10)));
+        Assertions.assertEquals(0, index.search(List.of("caneta"), 0, 10).total());
+    }
+}
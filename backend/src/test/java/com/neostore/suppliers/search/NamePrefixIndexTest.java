@@ -0,0 +1,98 @@
+package com.neostore.suppliers.search;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public class NamePrefixIndexTest {
+
+    private static NamePrefixIndex index() {
+        NamePrefixIndex index = new NamePrefixIndex();
+        index.load(List.of(
+                new NamePrefixIndex.Entry(1, "Móveis São João"),
+                new NamePrefixIndex.Entry(2, "Moveleira Sul"),
+                new NamePrefixIndex.Entry(3, "Brindes & Cia"),
+                new NamePrefixIndex.Entry(4, "MÓVEIS DO NORTE")));
+        return index;
+    }
+
+    private static List<Long> ids(List<NamePrefixIndex.Entry> entries) {
+        return entries.stream().map(NamePrefixIndex.Entry::id).toList();
+    }
+
+    // Prefixo sem diferenciar acentos e caixa, em ordem alfabética e com limite
+    @Test
+    void testFind() {
+        NamePrefixIndex index = index();
+        Assertions.assertEquals(List.of(4L, 1L), ids(index.find("movei", 10)));
+        Assertions.assertEquals(List.of(4L, 1L, 2L), ids(index.find("MÓV", 10)));
+        Assertions.assertEquals(List.of(4L), ids(index.find("mov", 1)));
+        Assertions.assertEquals("Móveis São João", index.find("moveis sao", 10).get(0).name());
+        Assertions.assertEquals(List.of(), index.find("zz", 10));
+        Assertions.assertEquals(List.of(), index.find("  ", 10));
+    }
+
+    // Inclusão, renomeação e remoção aplicadas em um único passo
+    @Test
+    void testApply() {
+        NamePrefixIndex index = index();
+        index.apply(List.of(
+                        new NamePrefixIndex.Entry(5, "Movelaria Central"),
+                        new NamePrefixIndex.Entry(3, "Móveis Brindes")),
+                List.of(2L, 99L));
+        Assertions.assertEquals(List.of(3L, 4L, 1L, 5L), ids(index.find("mov", 10)));
+        Assertions.assertEquals(List.of(), index.find("brindes", 10));
+        Assertions.assertEquals(4, index.size());
+
+        index.apply(List.of(), List.of(1L, 3L, 4L, 5L));
+        Assertions.assertEquals(0, index.size());
+    }
+
+    // Sequências aleatórias de alterações equivalem a reordenar tudo do zero
+    @Test
+    void testApplyMatchesFullSort() {
+        Random random = new Random(42);
+        NamePrefixIndex index = new NamePrefixIndex();
+        Map<Long, String> expected = new HashMap<>();
+        for (int round = 0; round < 200; round++) {
+            List<NamePrefixIndex.Entry> saved = new ArrayList<>();
+            List<Long> deleted = new ArrayList<>();
+            Map<Long, String> touched = new HashMap<>();
+            for (int i = random.nextInt(5); i >= 0; i--) {
+                long id = random.nextInt(100);
+                if (touched.containsKey(id)) {
+                    continue;
+                }
+                if (random.nextInt(3) == 0) {
+                    deleted.add(id);
+                    touched.put(id, null);
+                } else {
+                    String name = "n" + (char) ('a' + random.nextInt(4)) + (char) ('a' + random.nextInt(4));
+                    saved.add(new NamePrefixIndex.Entry(id, name));
+                    touched.put(id, name);
+                }
+            }
+            index.apply(saved, deleted);
+            touched.forEach((id, name) -> {
+                if (name == null) {
+                    expected.remove(id);
+                } else {
+                    expected.put(id, name);
+                }
+            });
+
+            List<NamePrefixIndex.Entry> all = expected.entrySet().stream()
+                    .map(entry -> new NamePrefixIndex.Entry(entry.getKey(), entry.getValue()))
+                    .sorted(Comparator.comparing(NamePrefixIndex.Entry::name)
+                            .thenComparingLong(NamePrefixIndex.Entry::id))
+                    .toList();
+            Assertions.assertEquals(all, index.find("n", 1000));
+        }
+    }
+}
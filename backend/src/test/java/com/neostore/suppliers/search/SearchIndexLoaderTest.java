@@ -0,0 +1,103 @@
+package com.neostore.suppliers.search;
+
+import com.neostore.suppliers.dto.SupplierDTO;
+import com.neostore.suppliers.repository.SupplierRepository;
+import com.neostore.suppliers.service.SuppliersChanged;
+import com.neostore.suppliers.util.Cursor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Sem banco: o repositório devolve páginas fixas e pode simular gravações confirmadas
+ * no meio da carga.
+ */
+public class SearchIndexLoaderTest {
+
+    private final SupplierSearchIndex searchIndex = new SupplierSearchIndex();
+    private final SupplierNameIndex nameIndex = new SupplierNameIndex();
+    private final SupplierSimilarityIndex similarityIndex = new SupplierSimilarityIndex();
+    private final List<Object> cursors = new ArrayList<>();
+
+    // Lê página a página a partir do último ID e só então passa a atender
+    @Test
+    void testLoadsInPages() throws Exception {
+        SearchIndexLoader loader = loader(List.of(
+                List.of(supplier(1, "Móveis Silva"), supplier(2, "Papelaria Central")),
+                List.of(supplier(5, "Móveis Souza"))), page -> {});
+        Assertions.assertFalse(loader.isReady());
+
+        loader.load();
+        Assertions.assertTrue(loader.isReady());
+        Assertions.assertEquals(3, cursors.size());
+        Assertions.assertNull(cursors.get(0));
+        Assertions.assertEquals(2L, ((Cursor) cursors.get(1)).id());
+        Assertions.assertEquals(5L, ((Cursor) cursors.get(2)).id());
+        Assertions.assertEquals(2, searchIndex.search("moveis", 0, 10).total());
+        Assertions.assertEquals(List.of(1L, 5L), nameIndex.suggest("mov", 10).stream().map(NamePrefixIndex.Entry::id).toList());
+        Assertions.assertEquals(2L, similarityIndex.similar("Papelaria Central", 10).get(0).id());
+    }
+
+    // Gravações confirmadas durante a carga prevalecem sobre a página lida antes ou depois delas
+    @Test
+    void testAppliesChangesCommittedDuringLoad() throws Exception {
+        SearchIndexLoader[] holder = new SearchIndexLoader[1];
+        holder[0] = loader(List.of(
+                List.of(supplier(1, "Móveis Silva"), supplier(2, "Papelaria Central")),
+                List.of(supplier(5, "Móveis Souza"))), page -> {
+            if (page == 1) {
+                // Depois da primeira página: 1 muda de nome, 5 é removido (a segunda página ainda o traz)
+                holder[0].onChange(SuppliersChanged.saved(List.of(supplier(1, "Brindes Silva"))));
+                holder[0].onChange(SuppliersChanged.deleted(List.of(5L)));
+            }
+        });
+        holder[0].load();
+
+        Assertions.assertEquals(0, searchIndex.search("moveis", 0, 10).total());
+        Assertions.assertEquals(List.of(1L), searchIndex.search("brindes", 0, 10).hits().stream().map(InvertedIndex.Hit::id).toList());
+        Assertions.assertEquals(List.of(), nameIndex.suggest("mov", 10));
+        Assertions.assertEquals(List.of(), similarityIndex.similar("Móveis Souza", 10));
+
+        // Após a carga, as gravações vão direto aos índices
+        holder[0].onChange(SuppliersChanged.saved(List.of(supplier(7, "Móveis Lima"))));
+        Assertions.assertEquals(List.of(7L), nameIndex.suggest("mov", 10).stream().map(NamePrefixIndex.Entry::id).toList());
+    }
+
+    /**
+     * @param afterPage chamado com o número de páginas já devolvidas, antes de devolver a seguinte
+     */
+    private SearchIndexLoader loader(List<List<SupplierDTO>> pages, Consumer<Integer> afterPage) throws Exception {
+        SupplierRepository repository = (SupplierRepository) Proxy.newProxyInstance(
+                SupplierRepository.class.getClassLoader(), new Class<?>[] {SupplierRepository.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("findAfter")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    int page = cursors.size();
+                    cursors.add(args[2]);
+                    afterPage.accept(page);
+                    return page < pages.size() ? pages.get(page) : List.of();
+                });
+        SearchIndexLoader loader = new SearchIndexLoader();
+        inject(loader, "repository", repository);
+        inject(loader, "searchIndex", searchIndex);
+        inject(loader, "nameIndex", nameIndex);
+        inject(loader, "similarityIndex", similarityIndex);
+        return loader;
+    }
+
+    private static void inject(Object target, String name, Object value) throws Exception {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+
+    private static SupplierDTO supplier(long id, String name) {
+        return new SupplierDTO(id, name, "contato" + id + "@empresa.com", "Fornecedor", "12.345.678/0001-95");
+    }
+}
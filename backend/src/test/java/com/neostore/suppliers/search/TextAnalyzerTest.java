@@ -0,0 +1,35 @@
+package com.neostore.suppliers.search;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class TextAnalyzerTest {
+
+    // Acentos, caixa, pontuação, palavras vazias e plural não diferenciam a busca
+    @Test
+    void testTerms() {
+        Assertions.assertEquals(List.of("movel", "escritorio"), TextAnalyzer.terms("Móveis para escritório"));
+        Assertions.assertEquals(List.of("movel", "escritorio"), TextAnalyzer.terms("MOVEL, escritorios!"));
+        Assertions.assertEquals(List.of("brinde", "corporativo"), TextAnalyzer.terms("Brindes corporativos"));
+        Assertions.assertEquals(List.of(), TextAnalyzer.terms(" de  para "));
+        Assertions.assertEquals(List.of(), TextAnalyzer.terms(null));
+    }
+
+    // Regras de plural
+    @Test
+    void testSingular() {
+        Assertions.assertEquals("botao", TextAnalyzer.singular("botoes"));
+        Assertions.assertEquals("pao", TextAnalyzer.singular("paes"));
+        Assertions.assertEquals("material", TextAnalyzer.singular("materiais"));
+        Assertions.assertEquals("papel", TextAnalyzer.singular("papeis"));
+        Assertions.assertEquals("lencol", TextAnalyzer.singular("lencois"));
+        Assertions.assertEquals("item", TextAnalyzer.singular("itens"));
+        Assertions.assertEquals("computador", TextAnalyzer.singular("computadores"));
+        Assertions.assertEquals("luz", TextAnalyzer.singular("luzes"));
+        Assertions.assertEquals("cadeira", TextAnalyzer.singular("cadeiras"));
+        Assertions.assertEquals("gas", TextAnalyzer.singular("gas"));
+        Assertions.assertEquals("cor", TextAnalyzer.singular("cor"));
+    }
+}
@@ -0,0 +1,128 @@
+package com.neostore.suppliers.search;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public class TrigramIndexTest {
+
+    private static long trigram(String text) {
+        return TrigramIndex.code(text.charAt(0), text.charAt(1), text.charAt(2));
+    }
+
+    private static List<Long> ids(List<TrigramIndex.Match> matches) {
+        return matches.stream().map(TrigramIndex.Match::id).toList();
+    }
+
+    // Mesmos trigramas do pg_trgm: palavras com dois espaços antes e um depois
+    @Test
+    void testTrigrams() {
+        long[] expected = {trigram("  c"), trigram(" ca"), trigram("at "), trigram("cat")};
+        Arrays.sort(expected);
+        Assertions.assertArrayEquals(expected, TrigramIndex.trigrams("Cat"));
+        Assertions.assertArrayEquals(expected, TrigramIndex.trigrams("  CAT, cat! "));
+        Assertions.assertArrayEquals(TrigramIndex.trigrams("sao joao"), TrigramIndex.trigrams("São João"));
+        Assertions.assertEquals(0, TrigramIndex.trigrams(" .- ").length);
+        Assertions.assertEquals(0, TrigramIndex.trigrams(null).length);
+    }
+
+    // Pontuação e acentos não impedem de achar a duplicata; nomes diferentes ficam de fora
+    @Test
+    void testSimilar() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1, "Fornecedor S.A. Igor");
+        index.put(2, "Fornecedor SA Igor");
+        index.put(3, "Fornecedora Igor Ltda");
+        index.put(4, "Móveis São João");
+        index.put(5, "Fornecedor Igor");
+
+        List<TrigramIndex.Match> matches = index.similar("Fornecedor SA Igor", 0.5, 10);
+        Assertions.assertEquals(List.of(2L, 5L, 1L, 3L), ids(matches));
+        Assertions.assertEquals(1.0, matches.get(0).similarity());
+        Assertions.assertTrue(matches.get(1).similarity() > 0.7);
+        Assertions.assertEquals(List.of(2L), ids(index.similar("Fornecedor SA Igor", 0.5, 1)));
+        Assertions.assertEquals(List.of(4L), ids(index.similar("moveis sao joao", 0.5, 10)));
+
+        index.put(2, "Brindes & Cia");
+        index.remove(1);
+        Assertions.assertEquals(List.of(5L, 3L), ids(index.similar("Fornecedor SA Igor", 0.5, 10)));
+        Assertions.assertEquals(4, index.size());
+        Assertions.assertEquals(List.of(), index.similar("", 0.5, 10));
+    }
+
+    // Alterações em lote, com posições liberadas e reocupadas na mesma gravação, dão o mesmo
+    // resultado que as mesmas alterações uma a uma
+    @Test
+    void testApplyMatchesSingleChanges() {
+        Random random = new Random(5);
+        String[] words = {"fornecedor", "comercio", "igor", "silva", "ltda", "moveis", "sao", "joao"};
+        TrigramIndex batched = new TrigramIndex();
+        TrigramIndex single = new TrigramIndex();
+        for (int round = 0; round < 30; round++) {
+            Map<Long, String> saved = new HashMap<>();
+            List<Long> deleted = new ArrayList<>();
+            for (int change = random.nextInt(30); change > 0; change--) {
+                long id = 1 + random.nextInt(100);
+                if (random.nextInt(4) == 0) {
+                    deleted.add(id);
+                } else {
+                    saved.put(id, words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)]);
+                }
+            }
+            deleted.removeAll(saved.keySet());
+            batched.apply(saved, deleted);
+            deleted.forEach(single::remove);
+            saved.forEach(single::put);
+
+            Assertions.assertEquals(single.size(), batched.size());
+            for (String word : words) {
+                String query = word + " " + words[random.nextInt(words.length)];
+                Assertions.assertEquals(single.similar(query, 0.3, 200), batched.similar(query, 0.3, 200), query);
+            }
+        }
+    }
+
+    // A poda por trigramas raros e por tamanho dá o mesmo resultado que comparar com todos
+    @Test
+    void testSimilarMatchesFullScan() {
+        Random random = new Random(7);
+        String[] words = {"fornecedor", "fornecedora", "comercio", "comercial", "igor", "silva",
+                "sa", "ltda", "moveis", "movel", "sao", "joao", "brindes", "cia", "me"};
+        TrigramIndex index = new TrigramIndex();
+        Map<Long, String> names = new HashMap<>();
+        for (long id = 1; id <= 500; id++) {
+            StringBuilder name = new StringBuilder();
+            for (int w = 1 + random.nextInt(4); w > 0; w--) {
+                name.append(words[random.nextInt(words.length)]).append(' ');
+            }
+            names.put(id, name.toString());
+            index.put(id, name.toString());
+        }
+
+        for (int q = 0; q < 50; q++) {
+            String query = names.get(1L + random.nextInt(500));
+            double threshold = 0.3 + random.nextInt(6) * 0.1;
+            long[] a = TrigramIndex.trigrams(query);
+            List<TrigramIndex.Match> expected = new ArrayList<>();
+            names.forEach((id, name) -> {
+                long[] b = TrigramIndex.trigrams(name);
+                long common = Arrays.stream(b).filter(t -> Arrays.binarySearch(a, t) >= 0).count();
+                double similarity = (double) common / (a.length + b.length - common);
+                if (similarity >= threshold) {
+                    expected.add(new TrigramIndex.Match(id, similarity));
+                }
+            });
+            expected.sort(Comparator.comparingDouble(TrigramIndex.Match::similarity).reversed()
+                    .thenComparingLong(TrigramIndex.Match::id));
+            Assertions.assertEquals(expected.subList(0, Math.min(20, expected.size())),
+                    index.similar(query, threshold, 20), query + " @ " + threshold);
+        }
+    }
+}
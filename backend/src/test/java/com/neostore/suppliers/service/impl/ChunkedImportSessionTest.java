@@ -0,0 +1,190 @@
+package com.neostore.suppliers.service.impl;
+
+import com.neostore.suppliers.api.payload.ImportError;
+import com.neostore.suppliers.dto.SupplierDTO;
+import com.neostore.suppliers.exception.BusinessRuleException;
+import com.neostore.suppliers.metrics.MetricsRegistry;
+import com.neostore.suppliers.service.ImportListener;
+import com.neostore.suppliers.service.SupplierService;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Sem banco: o gravador de lotes, o serviço e o validador são substituídos por versões
+ * em memória.
+ */
+public class ChunkedImportSessionTest {
+
+    private final List<List<Integer>> chunks = new ArrayList<>();
+    private final List<String> created = new ArrayList<>();
+    private final List<String> events = new ArrayList<>();
+    private final MetricsRegistry metrics = new MetricsRegistry();
+
+    // Os válidos são gravados em lotes do tamanho pedido; o último, incompleto, no fechamento
+    @Test
+    void testWritesInChunks() {
+        ChunkedImportSession session = session(2, rows -> List.of(), null);
+        for (int i = 0; i < 5; i++) {
+            session.add(supplier("Fornecedor " + i));
+        }
+        Assertions.assertEquals(List.of(List.of(0, 1), List.of(2, 3)), chunks);
+
+        session.close();
+        Assertions.assertEquals(List.of(List.of(0, 1), List.of(2, 3), List.of(4)), chunks);
+        Assertions.assertEquals(List.of("imported 0", "imported 1", "imported 2", "imported 3", "imported 4"), events);
+        Assertions.assertTrue(metrics().contains("neostore_import_rows_total{outcome=\"imported\"} 5\n"), metrics());
+    }
+
+    // Inválidos, vazios e ilegíveis falham na hora, sem ir ao lote, e cada um ocupa sua posição
+    @Test
+    void testRejectsInvalidRowsBeforeWriting() {
+        ChunkedImportSession session = session(10, rows -> List.of(), null);
+        session.add(supplier("Fornecedor 0"));
+        session.add(supplier(""));
+        session.add(null);
+        session.reject("Linha malformada");
+        session.add(supplier("Fornecedor 4"));
+        session.close();
+
+        Assertions.assertEquals(List.of(List.of(0, 4)), chunks);
+        Assertions.assertEquals(List.of(
+                "failed 1: O nome não pode ser vazio",
+                "failed 2: Registro vazio",
+                "failed 3: Linha malformada",
+                "imported 0",
+                "imported 4"), events);
+        Assertions.assertTrue(metrics().contains("neostore_import_rows_total{outcome=\"failed\"} 3\n"), metrics());
+    }
+
+    // Os erros devolvidos pelo gravador marcam só os registros correspondentes
+    @Test
+    void testReportsChunkErrors() {
+        ChunkedImportSession session = session(3,
+                rows -> List.of(new ImportError(rows.get(1).index(), rows.get(1).supplier(), "CNPJ já cadastrado")),
+                null);
+        for (int i = 0; i < 3; i++) {
+            session.add(supplier("Fornecedor " + i));
+        }
+        session.close();
+
+        Assertions.assertEquals(List.of("failed 1: CNPJ já cadastrado", "imported 0", "imported 2"), events);
+        Assertions.assertTrue(created.isEmpty());
+    }
+
+    // Lote recusado por violação de integridade: refeito registro a registro, cada falha com sua mensagem
+    @Test
+    void testFallsBackToOneByOne() {
+        ChunkedImportSession session = session(4, rows -> {
+            throw new PersistenceException(new SQLException("Unique index violation", "23505"));
+        }, name -> switch (name) {
+            case "Fornecedor 1" -> new BusinessRuleException("E-mail já cadastrado");
+            case "Fornecedor 2" -> new IllegalStateException("conexão perdida");
+            default -> null;
+        });
+        for (int i = 0; i < 4; i++) {
+            session.add(supplier("Fornecedor " + i));
+        }
+
+        Assertions.assertEquals(List.of("Fornecedor 0", "Fornecedor 1", "Fornecedor 2", "Fornecedor 3"), created);
+        Assertions.assertEquals(List.of(
+                "failed 1: E-mail já cadastrado",
+                "failed 2: Unexpected error: conexão perdida",
+                "imported 0",
+                "imported 3"), events);
+    }
+
+    // Outras falhas do lote (conexão, tempo limite) sobem sem refazer registro a registro
+    @Test
+    void testRethrowsOtherChunkFailures() {
+        ChunkedImportSession session = session(2, rows -> {
+            throw new IllegalStateException("conexão perdida");
+        }, name -> null);
+        session.add(supplier("Fornecedor 0"));
+
+        Assertions.assertThrows(IllegalStateException.class, () -> session.add(supplier("Fornecedor 1")));
+        session.close();
+        Assertions.assertEquals(List.of(List.of(0, 1)), chunks);
+        Assertions.assertTrue(created.isEmpty());
+        Assertions.assertTrue(events.isEmpty());
+    }
+
+    /**
+     * @param write   resposta do gravador ao lote
+     * @param failure exceção do serviço ao criar o fornecedor com o nome, ou null
+     */
+    private ChunkedImportSession session(int chunkSize, Function<List<ImportRow>, List<ImportError>> write,
+                                         Function<String, RuntimeException> failure) {
+        SupplierImportChunkWriter writer = new SupplierImportChunkWriter() {
+            @Override
+            public List<ImportError> write(List<ImportRow> rows) {
+                chunks.add(rows.stream().map(ImportRow::index).toList());
+                return write.apply(rows);
+            }
+        };
+        SupplierService service = stub(SupplierService.class, (method, args) -> {
+            SupplierDTO dto = (SupplierDTO) args[0];
+            created.add(dto.name());
+            RuntimeException ex = failure.apply(dto.name());
+            if (ex != null) {
+                throw ex;
+            }
+            return dto;
+        });
+        ImportListener listener = new ImportListener() {
+            @Override
+            public void imported(int index) {
+                events.add("imported " + index);
+            }
+
+            @Override
+            public void failed(int index, SupplierDTO supplier, String error) {
+                events.add("failed " + index + ": " + error);
+            }
+        };
+        return new ChunkedImportSession(validator(), writer, service, metrics, chunkSize, listener);
+    }
+
+    /** Recusa apenas nomes vazios. */
+    private static Validator validator() {
+        ConstraintViolation<?> blankName = stub(ConstraintViolation.class, (method, args) -> "O nome não pode ser vazio");
+        return stub(Validator.class, (method, args) ->
+                ((SupplierDTO) args[0]).name().isBlank() ? Set.of(blankName) : Set.of());
+    }
+
+    private static SupplierDTO supplier(String name) {
+        return new SupplierDTO(null, name, "contato@empresa.com", "Material de escritório", "12.345.678/0001-95");
+    }
+
+    private String metrics() {
+        StringBuilder out = new StringBuilder();
+        metrics.writeTo(out);
+        return out.toString();
+    }
+
+    interface Handler {
+        Object invoke(Method method, Object[] args);
+    }
+
+    /** Implementação da interface que responde com o handler; os métodos de Object são os padrão. */
+    @SuppressWarnings("unchecked")
+    static <T> T stub(Class<?> type, Handler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) ->
+                switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "toString" -> type.getSimpleName();
+                    default -> handler.invoke(method, args);
+                });
+    }
+}
@@ -0,0 +1,123 @@
+package com.neostore.suppliers.service.impl;
+
+import com.neostore.suppliers.api.payload.ImportError;
+import com.neostore.suppliers.dto.SupplierDTO;
+import com.neostore.suppliers.model.Supplier;
+import com.neostore.suppliers.repository.SupplierRepository;
+import com.neostore.suppliers.service.SuppliersChanged;
+import jakarta.enterprise.event.Event;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+/**
+ * Sem banco: o repositório devolve fornecedores já cadastrados fixos e numera os inseridos.
+ */
+public class SupplierImportChunkWriterTest {
+
+    private final List<Collection<?>> lookups = new ArrayList<>();
+    private final List<Supplier> inserted = new ArrayList<>();
+    private final List<SuppliersChanged> fired = new ArrayList<>();
+
+    // Colisões com cadastrados e dentro do próprio lote, pelas chaves normalizadas; o primeiro vence
+    @Test
+    void testRejectsDuplicates() throws Exception {
+        SupplierImportChunkWriter writer = writer(existing("12.345.678/0001-95", "Foo@Bar.com"));
+        List<ImportError> errors = writer.write(List.of(
+                row(0, "12345678000195", "outro@empresa.com"),
+                row(1, "45.723.174/0001-10", "foo@bar.COM"),
+                row(2, "45.723.174/0001-10", "a@empresa.com"),
+                row(3, "33.000.167/0001-01", "b@empresa.com"),
+                row(4, "45723174000110", "c@empresa.com"),
+                row(5, "11.222.333/0001-81", "B@Empresa.com")));
+
+        Assertions.assertEquals(List.of(
+                "0: CNPJ já cadastrado",
+                "1: E-mail já cadastrado",
+                "4: CNPJ já cadastrado",
+                "5: E-mail já cadastrado"), errors.stream().map(e -> e.index() + ": " + e.error()).toList());
+        Assertions.assertEquals(List.of("a@empresa.com", "b@empresa.com"),
+                inserted.stream().map(Supplier::getEmail).toList());
+    }
+
+    // Uma única consulta de unicidade para o lote, com as chaves já normalizadas
+    @Test
+    void testLooksUpKeysOnce() throws Exception {
+        SupplierImportChunkWriter writer = writer();
+        writer.write(List.of(row(0, "12.345.678/0001-95", "Foo@Bar.com"), row(1, "45723174000110", "x@y.com")));
+
+        Assertions.assertEquals(List.of(Set.of(12345678000195L, 45723174000110L), Set.of("foo@bar.com", "x@y.com")),
+                lookups);
+    }
+
+    // O evento leva os inseridos com os IDs gerados, na ordem da inserção
+    @Test
+    void testFiresSavedWithIds() throws Exception {
+        SupplierImportChunkWriter writer = writer(existing("12.345.678/0001-95", "foo@bar.com"));
+        writer.write(List.of(
+                row(0, "45.723.174/0001-10", "a@empresa.com"),
+                row(1, "12.345.678/0001-95", "b@empresa.com"),
+                row(2, "33.000.167/0001-01", "c@empresa.com")));
+
+        Assertions.assertEquals(1, fired.size());
+        Assertions.assertTrue(fired.get(0).deleted().isEmpty());
+        Assertions.assertEquals(List.of(
+                new SupplierDTO(100L, "Fornecedor 0", "a@empresa.com", "Material de escritório", "45.723.174/0001-10"),
+                new SupplierDTO(101L, "Fornecedor 2", "c@empresa.com", "Material de escritório", "33.000.167/0001-01")),
+                fired.get(0).saved());
+    }
+
+    private SupplierImportChunkWriter writer(Supplier... existing) throws Exception {
+        SupplierRepository repository = ChunkedImportSessionTest.stub(SupplierRepository.class, (method, args) -> {
+            switch (method.getName()) {
+                case "findByCnpjKeyInOrEmailKeyIn" -> {
+                    lookups.add((Collection<?>) args[0]);
+                    lookups.add((Collection<?>) args[1]);
+                    return List.of(existing);
+                }
+                case "saveAll" -> {
+                    @SuppressWarnings("unchecked")
+                    List<Supplier> suppliers = (List<Supplier>) args[0];
+                    inserted.addAll(suppliers);
+                    return LongStream.range(100, 100 + suppliers.size()).boxed().toList();
+                }
+                default -> throw new UnsupportedOperationException(method.getName());
+            }
+        });
+        Event<SuppliersChanged> changes = ChunkedImportSessionTest.stub(Event.class, (method, args) -> {
+            if (!method.getName().equals("fire")) {
+                throw new UnsupportedOperationException(method.getName());
+            }
+            fired.add((SuppliersChanged) args[0]);
+            return null;
+        });
+        SupplierImportChunkWriter writer = new SupplierImportChunkWriter();
+        inject(writer, "repository", repository);
+        inject(writer, "changes", changes);
+        return writer;
+    }
+
+    private static void inject(Object target, String name, Object value) throws Exception {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+
+    private static Supplier existing(String cnpj, String email) {
+        Supplier supplier = new Supplier();
+        supplier.setName("Cadastrado");
+        supplier.setEmail(email);
+        supplier.setCnpj(cnpj);
+        return supplier;
+    }
+
+    private static ImportRow row(int index, String cnpj, String email) {
+        return new ImportRow(index, new SupplierDTO(null, "Fornecedor " + index, email, "Material de escritório", cnpj));
+    }
+}
@@ -0,0 +1,36 @@
+package com.neostore.suppliers.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class CnpjFormatterTest {
+
+    // Com e sem máscara resultam na mesma chave
+    @Test
+    void testMaskedAndUnmaskedShareKey() {
+        Assertions.assertEquals(47210745000149L, CnpjFormatter.toKey("47.210.745/0001-49"));
+        Assertions.assertEquals(47210745000149L, CnpjFormatter.toKey("47210745000149"));
+        Assertions.assertEquals(623904000173L, CnpjFormatter.toKey("00.623.904/0001-73"));
+    }
+
+    // Entradas que não têm exatamente 14 dígitos
+    @Test
+    void testInvalidInputsHaveNoKey() {
+        Assertions.assertNull(CnpjFormatter.toKey(null));
+        Assertions.assertNull(CnpjFormatter.toKey(""));
+        Assertions.assertNull(CnpjFormatter.toKey("1234567890123"));
+        Assertions.assertNull(CnpjFormatter.toKey("123456789012345"));
+        Assertions.assertNull(CnpjFormatter.toKey("12.345.678/0001-9A"));
+        Assertions.assertNull(CnpjFormatter.toKey(" 12345678000195"));
+    }
+
+    // Formatação preserva zeros à esquerda e volta para a mesma chave
+    @Test
+    void testFormat() {
+        Assertions.assertEquals("00.623.904/0001-73", CnpjFormatter.format(623904000173L));
+        Assertions.assertEquals("47.210.745/0001-49", CnpjFormatter.format(47210745000149L));
+        Assertions.assertEquals(12345678000195L, CnpjFormatter.toKey(CnpjFormatter.format(12345678000195L)));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CnpjFormatter.format(-1L));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CnpjFormatter.format(100_000_000_000_000L));
+    }
+}
@@ -0,0 +1,39 @@
+package com.neostore.suppliers.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+public class CsvTest {
+
+    // Campos simples saem sem aspas e null sai vazio
+    @Test
+    void testPlainFields() throws IOException {
+        Assertions.assertEquals("1,Fornecedor A,,12.345.678/0001-95\r\n",
+                row("1", "Fornecedor A", null, "12.345.678/0001-95"));
+    }
+
+    // Vírgula, aspas e quebra de linha exigem aspas; aspas internas são duplicadas
+    @Test
+    void testQuotedFields() throws IOException {
+        Assertions.assertEquals("\"a,b\",\"diz \"\"oi\"\"\",\"linha1\nlinha2\",\"\"\"\"\r\n",
+                row("a,b", "diz \"oi\"", "linha1\nlinha2", "\""));
+    }
+
+    // Campos que seriam fórmulas numa planilha ganham um apóstrofo, antes das aspas
+    @Test
+    void testFormulaFields() throws IOException {
+        Assertions.assertEquals("'=SUM(A1),'+1,'-2,'@SUM(A1)\r\n",
+                row("=SUM(A1)", "+1", "-2", "@SUM(A1)"));
+        Assertions.assertEquals("\"'=1,2\",\"'\rx\",'\tx,a=b\r\n",
+                row("=1,2", "\rx", "\tx", "a=b"));
+    }
+
+    private static String row(String... fields) throws IOException {
+        StringWriter out = new StringWriter();
+        Csv.writeRow(out, fields);
+        return out.toString();
+    }
+}
@@ -0,0 +1,43 @@
+package com.neostore.suppliers.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class CursorTest {
+
+    // Ida e volta com e sem valor de ordenação
+    @Test
+    void testRoundTrip() {
+        Cursor byId = new Cursor("id", 42L, null);
+        Assertions.assertEquals(byId, Cursor.decode(byId.encode()));
+
+        Cursor byName = new Cursor("name", 7L, "Fornecedor | Móveis");
+        Assertions.assertEquals(byName, Cursor.decode(byName.encode()));
+
+        Cursor emptyValue = new Cursor("name", 7L, "");
+        Assertions.assertEquals(emptyValue, Cursor.decode(emptyValue.encode()));
+    }
+
+    // O texto gerado é seguro para query string
+    @Test
+    void testUrlSafe() {
+        String token = new Cursor("name", Long.MAX_VALUE, "???>>>~~~").encode();
+        Assertions.assertTrue(token.matches("[A-Za-z0-9_-]+"), token);
+    }
+
+    // Textos que não foram gerados por encode()
+    @Test
+    void testRejectsMalformed() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Cursor.decode(null));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Cursor.decode(""));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Cursor.decode("not base64!"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Cursor.decode(encodeRaw("id")));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Cursor.decode(encodeRaw("id|abc")));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Cursor.decode(encodeRaw("|10")));
+    }
+
+    private static String encodeRaw(String raw) {
+        return java.util.Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(java.nio.charset.StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,39 @@
+package com.neostore.suppliers.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ETagsTest {
+
+    // A versão lida de If-Match é a mesma usada para gerar a ETag
+    @Test
+    void testRoundTrip() {
+        Assertions.assertEquals(7L, ETags.parseVersion("\"" + ETags.of(7L) + "\""));
+        Assertions.assertEquals(0L, ETags.parseVersion("  \"0\" "));
+    }
+
+    // A ETag de qualquer representação traz a mesma versão
+    @Test
+    void testRepresentationSuffix() {
+        Assertions.assertEquals(7L, ETags.parseVersion("\"7-gzip\""));
+        Assertions.assertEquals(7L, ETags.parseVersion("\"7-cbor-gzip\""));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ETags.parseVersion("\"-cbor\""));
+    }
+
+    // ETag composta em hexadecimal
+    @Test
+    void testComposite() {
+        Assertions.assertEquals("a-ff-0", ETags.of(10L, 255L, 0L));
+    }
+
+    // ETags fracas, listas, sem aspas ou não numéricas não correspondem a uma versão
+    @Test
+    void testRejectsInvalid() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ETags.parseVersion(null));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ETags.parseVersion("W/\"1\""));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ETags.parseVersion("\"1\", \"2\""));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ETags.parseVersion("1"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ETags.parseVersion("\"\""));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ETags.parseVersion("\"abc\""));
+    }
+}
@@ -0,0 +1,42 @@
+package com.neostore.suppliers.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class EmailNormalizerTest {
+
+    // Domínio sempre em minúsculas; local-part só quando configurado
+    @Test
+    void testNormalize() {
+        Assertions.assertEquals("foo@bar.com", EmailNormalizer.normalize("Foo@Bar.COM", true));
+        Assertions.assertEquals("Foo@bar.com", EmailNormalizer.normalize("Foo@Bar.COM", false));
+        Assertions.assertEquals("foo@bar.com", EmailNormalizer.normalize("foo@bar.com", false));
+        Assertions.assertNull(EmailNormalizer.normalize(null, true));
+    }
+
+    // Domínio sempre em minúsculas, a partir do último @
+    @Test
+    void testDomain() {
+        Assertions.assertEquals("bar.com", EmailNormalizer.domain("Foo@Bar.COM"));
+        Assertions.assertEquals("c.com", EmailNormalizer.domain("\"a@b\"@c.com"));
+        Assertions.assertNull(EmailNormalizer.domain("sem-arroba"));
+        Assertions.assertNull(EmailNormalizer.domain(null));
+    }
+
+    // Mesma forma canônica, mesmo hash; formas diferentes, hashes diferentes
+    @Test
+    void testHash() {
+        String a = EmailNormalizer.normalize("Foo@Bar.com", true);
+        String b = EmailNormalizer.normalize("foo@BAR.com", true);
+        Assertions.assertEquals(EmailNormalizer.hash(a), EmailNormalizer.hash(b));
+        Assertions.assertNotEquals(EmailNormalizer.hash("foo@bar.com"), EmailNormalizer.hash("foo@bar.co"));
+        Assertions.assertNotEquals(EmailNormalizer.hash("ab@c.com"), EmailNormalizer.hash("ba@c.com"));
+    }
+
+    // O valor é persistido: não pode mudar entre versões (FNV-1a 64 sobre UTF-16LE)
+    @Test
+    void testHashIsStable() {
+        Assertions.assertEquals(0xcbf29ce484222325L, EmailNormalizer.hash(""));
+        Assertions.assertEquals(0x740cc010e27f9798L, EmailNormalizer.hash("test@email.com"));
+    }
+}
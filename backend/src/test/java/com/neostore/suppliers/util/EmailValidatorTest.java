@@ -113,4 +113,18 @@ public class EmailValidatorTest {
         Assertions.assertFalse(EmailValidator.isValid(nfc));
         Assertions.assertFalse(EmailValidator.isValid(nfd));
     }
-}
\ No newline at end of file
+
+    // --- Entradas adversariais perto do limite de 100 caracteres ---
+    @Test
+    void testAdversarialNearLimit() {
+        String manyLabels = "a@" + "a-a.".repeat(23) + "ab.c0m";  // 100 chars, TLD com dígito
+        String hyphenRun = "a@" + "a".repeat(30) + "-".repeat(63) + ".com"; // label terminando em hífen
+        String longestValid = "a".repeat(64) + "@" + "b".repeat(31) + ".com"; // exatamente 100 chars
+        Assertions.assertEquals(100, manyLabels.length());
+        Assertions.assertEquals(100, longestValid.length());
+        Assertions.assertFalse(EmailValidator.isValid(manyLabels));
+        Assertions.assertFalse(EmailValidator.isValid(hyphenRun));
+        Assertions.assertTrue(EmailValidator.isValid(longestValid));
+        Assertions.assertFalse(EmailValidator.isValid(longestValid + "m"));
+    }
+}
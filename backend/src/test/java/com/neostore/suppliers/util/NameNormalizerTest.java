@@ -0,0 +1,30 @@
+package com.neostore.suppliers.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class NameNormalizerTest {
+
+    // Acentos, caixa e espaços não diferenciam nomes
+    @Test
+    void testNormalize() {
+        Assertions.assertEquals("moveis sao joao", NameNormalizer.normalize("  Móveis   São\tJoão "));
+        Assertions.assertEquals("acougue cacapava", NameNormalizer.normalize("AÇOUGUE Caçapava"));
+        Assertions.assertEquals("", NameNormalizer.normalize("   "));
+        Assertions.assertNull(NameNormalizer.normalize(null));
+    }
+
+    // Caracteres sem decomposição ficam como estão
+    @Test
+    void testKeepsOtherCharacters() {
+        Assertions.assertEquals("loja 42 & cia.", NameNormalizer.normalize("Loja 42 & Cia."));
+        Assertions.assertEquals("i", NameNormalizer.normalize("İ"));
+    }
+
+    // fold só troca caixa e acentos
+    @Test
+    void testFold() {
+        Assertions.assertEquals(" moveis  sao joao ", NameNormalizer.fold(" Móveis  São João "));
+        Assertions.assertNull(NameNormalizer.fold(null));
+    }
+}